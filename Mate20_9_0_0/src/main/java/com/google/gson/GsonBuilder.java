@@ -30,6 +30,7 @@ public final class GsonBuilder {
     private boolean prettyPrinting = false;
     private boolean serializeNulls = false;
     private boolean serializeSpecialFloatingPointValues = false;
+    private boolean specializedFieldAccess = false;
     private int timeStyle = 2;
 
     public GsonBuilder setVersion(double ignoreVersionsAfter) {
@@ -169,6 +170,11 @@ public final class GsonBuilder {
         return this;
     }
 
+    public GsonBuilder enableSpecializedFieldAccess() {
+        this.specializedFieldAccess = true;
+        return this;
+    }
+
     public Gson create() {
         List<TypeAdapterFactory> factories = new ArrayList((this.factories.size() + this.hierarchyFactories.size()) + 3);
         factories.addAll(this.factories);
@@ -177,7 +183,7 @@ public final class GsonBuilder {
         Collections.reverse(hierarchyFactories);
         factories.addAll(hierarchyFactories);
         addTypeAdaptersForDate(this.datePattern, this.dateStyle, this.timeStyle, factories);
-        return new Gson(this.excluder, this.fieldNamingPolicy, this.instanceCreators, this.serializeNulls, this.complexMapKeySerialization, this.generateNonExecutableJson, this.escapeHtmlChars, this.prettyPrinting, this.lenient, this.serializeSpecialFloatingPointValues, this.longSerializationPolicy, factories);
+        return new Gson(this.excluder, this.fieldNamingPolicy, this.instanceCreators, this.serializeNulls, this.complexMapKeySerialization, this.generateNonExecutableJson, this.escapeHtmlChars, this.prettyPrinting, this.lenient, this.serializeSpecialFloatingPointValues, this.specializedFieldAccess, this.longSerializationPolicy, factories);
     }
 
     private void addTypeAdaptersForDate(String datePattern, int dateStyle, int timeStyle, List<TypeAdapterFactory> factories) {
@@ -30,6 +30,7 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
     private final Excluder excluder;
     private final FieldNamingStrategy fieldNamingPolicy;
     private final JsonAdapterAnnotationTypeAdapterFactory jsonAdapterFactory;
+    private final boolean specializedFieldAccess;
 
     static abstract class BoundField {
         final boolean deserialized;
@@ -104,10 +105,15 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
     }
 
     public ReflectiveTypeAdapterFactory(ConstructorConstructor constructorConstructor, FieldNamingStrategy fieldNamingPolicy, Excluder excluder, JsonAdapterAnnotationTypeAdapterFactory jsonAdapterFactory) {
+        this(constructorConstructor, fieldNamingPolicy, excluder, jsonAdapterFactory, false);
+    }
+
+    public ReflectiveTypeAdapterFactory(ConstructorConstructor constructorConstructor, FieldNamingStrategy fieldNamingPolicy, Excluder excluder, JsonAdapterAnnotationTypeAdapterFactory jsonAdapterFactory, boolean specializedFieldAccess) {
         this.constructorConstructor = constructorConstructor;
         this.fieldNamingPolicy = fieldNamingPolicy;
         this.excluder = excluder;
         this.jsonAdapterFactory = jsonAdapterFactory;
+        this.specializedFieldAccess = specializedFieldAccess;
     }
 
     public boolean excludeField(Field f, boolean serialize) {
@@ -153,6 +159,11 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
         TypeAdapter<?> mapped = null;
         if (annotation != null) {
             mapped = this.jsonAdapterFactory.getTypeAdapter(this.constructorConstructor, gson, typeToken, annotation);
+        } else if (this.specializedFieldAccess) {
+            BoundField specialized = UnsafeBoundFields.create(gson, field2, name, serialize, deserialize);
+            if (specialized != null) {
+                return specialized;
+            }
         }
         final boolean jsonAdapterPresent = mapped != null;
         if (mapped == null) {
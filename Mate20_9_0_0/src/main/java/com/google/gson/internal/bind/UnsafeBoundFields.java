@@ -0,0 +1,381 @@
+package com.google.gson.internal.bind;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory.BoundField;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+final class UnsafeBoundFields {
+    private static final MethodHandle GET_BOOLEAN;
+    private static final MethodHandle GET_BYTE;
+    private static final MethodHandle GET_DOUBLE;
+    private static final MethodHandle GET_INT;
+    private static final MethodHandle GET_LONG;
+    private static final MethodHandle GET_OBJECT;
+    private static final MethodHandle GET_SHORT;
+    private static final MethodHandle OBJECT_FIELD_OFFSET;
+    private static final MethodHandle PUT_BOOLEAN;
+    private static final MethodHandle PUT_BYTE;
+    private static final MethodHandle PUT_DOUBLE;
+    private static final MethodHandle PUT_INT;
+    private static final MethodHandle PUT_LONG;
+    private static final MethodHandle PUT_OBJECT;
+    private static final MethodHandle PUT_SHORT;
+
+    private static final class BooleanField extends BoundField {
+        private final long offset;
+
+        BooleanField(String name, boolean serialized, boolean deserialized, long offset) {
+            super(name, serialized, deserialized);
+            this.offset = offset;
+        }
+
+        void read(JsonReader reader, Object value) throws IOException {
+            JsonToken peek = reader.peek();
+            if (peek == JsonToken.NULL) {
+                reader.nextNull();
+                return;
+            }
+            boolean parseBoolean = peek == JsonToken.STRING ? Boolean.parseBoolean(reader.nextString()) : reader.nextBoolean();
+            try {
+                UnsafeBoundFields.PUT_BOOLEAN.invokeExact(value, this.offset, parseBoolean);
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        void write(JsonWriter writer, Object value) throws IOException {
+            try {
+                writer.value((boolean) UnsafeBoundFields.GET_BOOLEAN.invokeExact(value, this.offset));
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        boolean writeField(Object value) {
+            return this.serialized;
+        }
+    }
+
+    private static final class ByteField extends BoundField {
+        private final long offset;
+
+        ByteField(String name, boolean serialized, boolean deserialized, long offset) {
+            super(name, serialized, deserialized);
+            this.offset = offset;
+        }
+
+        void read(JsonReader reader, Object value) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return;
+            }
+            try {
+                UnsafeBoundFields.PUT_BYTE.invokeExact(value, this.offset, (byte) reader.nextInt());
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        void write(JsonWriter writer, Object value) throws IOException {
+            try {
+                writer.value((long) (byte) UnsafeBoundFields.GET_BYTE.invokeExact(value, this.offset));
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        boolean writeField(Object value) {
+            return this.serialized;
+        }
+    }
+
+    private static final class DoubleField extends BoundField {
+        private final long offset;
+
+        DoubleField(String name, boolean serialized, boolean deserialized, long offset) {
+            super(name, serialized, deserialized);
+            this.offset = offset;
+        }
+
+        void read(JsonReader reader, Object value) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return;
+            }
+            try {
+                UnsafeBoundFields.PUT_DOUBLE.invokeExact(value, this.offset, reader.nextDouble());
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        void write(JsonWriter writer, Object value) throws IOException {
+            try {
+                writer.value((double) UnsafeBoundFields.GET_DOUBLE.invokeExact(value, this.offset));
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        boolean writeField(Object value) {
+            return this.serialized;
+        }
+    }
+
+    private static final class IntField extends BoundField {
+        private final long offset;
+
+        IntField(String name, boolean serialized, boolean deserialized, long offset) {
+            super(name, serialized, deserialized);
+            this.offset = offset;
+        }
+
+        void read(JsonReader reader, Object value) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return;
+            }
+            try {
+                UnsafeBoundFields.PUT_INT.invokeExact(value, this.offset, reader.nextInt());
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        void write(JsonWriter writer, Object value) throws IOException {
+            try {
+                writer.value((long) (int) UnsafeBoundFields.GET_INT.invokeExact(value, this.offset));
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        boolean writeField(Object value) {
+            return this.serialized;
+        }
+    }
+
+    private static final class LongField extends BoundField {
+        private final long offset;
+
+        LongField(String name, boolean serialized, boolean deserialized, long offset) {
+            super(name, serialized, deserialized);
+            this.offset = offset;
+        }
+
+        void read(JsonReader reader, Object value) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return;
+            }
+            try {
+                UnsafeBoundFields.PUT_LONG.invokeExact(value, this.offset, reader.nextLong());
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        void write(JsonWriter writer, Object value) throws IOException {
+            try {
+                writer.value((long) UnsafeBoundFields.GET_LONG.invokeExact(value, this.offset));
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        boolean writeField(Object value) {
+            return this.serialized;
+        }
+    }
+
+    private static final class ShortField extends BoundField {
+        private final long offset;
+
+        ShortField(String name, boolean serialized, boolean deserialized, long offset) {
+            super(name, serialized, deserialized);
+            this.offset = offset;
+        }
+
+        void read(JsonReader reader, Object value) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return;
+            }
+            try {
+                UnsafeBoundFields.PUT_SHORT.invokeExact(value, this.offset, (short) reader.nextInt());
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        void write(JsonWriter writer, Object value) throws IOException {
+            try {
+                writer.value((long) (short) UnsafeBoundFields.GET_SHORT.invokeExact(value, this.offset));
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        boolean writeField(Object value) {
+            return this.serialized;
+        }
+    }
+
+    private static final class StringField extends BoundField {
+        private final long offset;
+
+        StringField(String name, boolean serialized, boolean deserialized, long offset) {
+            super(name, serialized, deserialized);
+            this.offset = offset;
+        }
+
+        void read(JsonReader reader, Object value) throws IOException {
+            String nextString;
+            JsonToken peek = reader.peek();
+            if (peek == JsonToken.NULL) {
+                reader.nextNull();
+                nextString = null;
+            } else if (peek == JsonToken.BOOLEAN) {
+                nextString = Boolean.toString(reader.nextBoolean());
+            } else {
+                nextString = reader.nextString();
+            }
+            try {
+                UnsafeBoundFields.PUT_OBJECT.invokeExact(value, this.offset, (Object) nextString);
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        void write(JsonWriter writer, Object value) throws IOException {
+            try {
+                writer.value((String) (Object) UnsafeBoundFields.GET_OBJECT.invokeExact(value, this.offset));
+            } catch (Throwable t) {
+                throw UnsafeBoundFields.rethrow(t);
+            }
+        }
+
+        boolean writeField(Object value) {
+            return this.serialized;
+        }
+    }
+
+    private UnsafeBoundFields() {
+    }
+
+    static {
+        MethodHandle[] handles = loadHandles();
+        boolean z = handles != null;
+        OBJECT_FIELD_OFFSET = z ? handles[0] : null;
+        GET_BOOLEAN = z ? handles[1] : null;
+        PUT_BOOLEAN = z ? handles[2] : null;
+        GET_BYTE = z ? handles[3] : null;
+        PUT_BYTE = z ? handles[4] : null;
+        GET_DOUBLE = z ? handles[5] : null;
+        PUT_DOUBLE = z ? handles[6] : null;
+        GET_INT = z ? handles[7] : null;
+        PUT_INT = z ? handles[8] : null;
+        GET_LONG = z ? handles[9] : null;
+        PUT_LONG = z ? handles[10] : null;
+        GET_OBJECT = z ? handles[11] : null;
+        PUT_OBJECT = z ? handles[12] : null;
+        GET_SHORT = z ? handles[13] : null;
+        PUT_SHORT = z ? handles[14] : null;
+    }
+
+    private static MethodHandle[] loadHandles() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field f = unsafeClass.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            Object unsafe = f.get(null);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            String[] names = new String[]{"Boolean", "Byte", "Double", "Int", "Long", "Object", "Short"};
+            Class<?>[] types = new Class<?>[]{Boolean.TYPE, Byte.TYPE, Double.TYPE, Integer.TYPE, Long.TYPE, Object.class, Short.TYPE};
+            MethodHandle[] handles = new MethodHandle[((names.length * 2) + 1)];
+            handles[0] = lookup.findVirtual(unsafeClass, "objectFieldOffset", MethodType.methodType(Long.TYPE, Field.class)).bindTo(unsafe);
+            for (int i = 0; i < names.length; i++) {
+                handles[(i * 2) + 1] = lookup.findVirtual(unsafeClass, "get" + names[i], MethodType.methodType(types[i], Object.class, Long.TYPE)).bindTo(unsafe);
+                handles[(i * 2) + 2] = lookup.findVirtual(unsafeClass, "put" + names[i], MethodType.methodType(Void.TYPE, Object.class, Long.TYPE, types[i])).bindTo(unsafe);
+            }
+            return handles;
+        } catch (Exception e) {
+            return null;
+        } catch (LinkageError e2) {
+            return null;
+        }
+    }
+
+    private static IOException rethrow(Throwable t) {
+        if (t instanceof IOException) {
+            return (IOException) t;
+        }
+        if (t instanceof RuntimeException) {
+            throw ((RuntimeException) t);
+        } else if (t instanceof Error) {
+            throw ((Error) t);
+        } else {
+            throw new JsonIOException(t);
+        }
+    }
+
+    private static long objectFieldOffset(Field field) {
+        try {
+            return (long) OBJECT_FIELD_OFFSET.invokeExact(field);
+        } catch (Throwable t) {
+            throw new JsonIOException(t);
+        }
+    }
+
+    static BoundField create(Gson context, Field field, String name, boolean serialize, boolean deserialize) {
+        if (OBJECT_FIELD_OFFSET == null || (field.getModifiers() & (Modifier.STATIC | Modifier.VOLATILE)) != 0) {
+            return null;
+        }
+        Class<?> type = field.getType();
+        if (type == Integer.TYPE && isDefault(context, Integer.TYPE, Integer.class, TypeAdapters.INTEGER)) {
+            return new IntField(name, serialize, deserialize, objectFieldOffset(field));
+        }
+        if (type == Long.TYPE && isDefault(context, Long.TYPE, Long.class, TypeAdapters.LONG)) {
+            return new LongField(name, serialize, deserialize, objectFieldOffset(field));
+        }
+        if (type == Boolean.TYPE && isDefault(context, Boolean.TYPE, Boolean.class, TypeAdapters.BOOLEAN)) {
+            return new BooleanField(name, serialize, deserialize, objectFieldOffset(field));
+        }
+        if (type == Short.TYPE && isDefault(context, Short.TYPE, Short.class, TypeAdapters.SHORT)) {
+            return new ShortField(name, serialize, deserialize, objectFieldOffset(field));
+        }
+        if (type == Byte.TYPE && isDefault(context, Byte.TYPE, Byte.class, TypeAdapters.BYTE)) {
+            return new ByteField(name, serialize, deserialize, objectFieldOffset(field));
+        }
+        if (type == Double.TYPE && isDefault(context, Double.TYPE, Double.class, TypeAdapters.DOUBLE)) {
+            return new DoubleField(name, serialize, deserialize, objectFieldOffset(field));
+        }
+        if (type == String.class && context.getAdapter(String.class) == TypeAdapters.STRING) {
+            return new StringField(name, serialize, deserialize, objectFieldOffset(field));
+        }
+        return null;
+    }
+
+    private static boolean isDefault(Gson context, Class<?> primitive, Class<?> boxed, TypeAdapter<?> adapter) {
+        return context.getAdapter(primitive) == adapter && context.getAdapter(boxed) == adapter;
+    }
+}
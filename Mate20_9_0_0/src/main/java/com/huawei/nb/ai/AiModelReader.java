@@ -1,12 +1,29 @@
 package com.huawei.nb.ai;
 
 import com.huawei.nb.efs.EfsException;
+import com.huawei.nb.efs.EfsReadChannel;
 import com.huawei.nb.efs.EfsRwChannel;
 import com.huawei.nb.utils.logger.DSLog;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 public class AiModelReader {
+    public static EfsReadChannel openAiModel(String filePath, byte[] key) {
+        try {
+            return EfsRwChannel.openReadChannel(filePath, 257, key);
+        } catch (EfsException e) {
+            DSLog.e("Failed to open AI model %s, error: %s.", filePath, e.getMessage());
+            return null;
+        } catch (RuntimeException e2) {
+            DSLog.e("Failed to open AI model %s, error: %s.", filePath, e2.getMessage());
+            return null;
+        } finally {
+            if (key != null) {
+                Arrays.fill(key, (byte) 0);
+            }
+        }
+    }
+
     public static ByteBuffer readAiModel(String filePath, byte[] key) {
         ByteBuffer read;
         Throwable e;
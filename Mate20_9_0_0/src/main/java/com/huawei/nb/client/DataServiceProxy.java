@@ -24,6 +24,7 @@ import com.huawei.nb.notification.ModelObserverInfo;
 import com.huawei.nb.notification.ObserverType;
 import com.huawei.nb.notification.RecordObserver;
 import com.huawei.nb.odmfadapter.AObjectContextAdapter;
+import com.huawei.nb.odmfadapter.CursorObjectIterator;
 import com.huawei.nb.odmfadapter.OdmfHelper;
 import com.huawei.nb.query.IQuery;
 import com.huawei.nb.query.Query;
@@ -49,6 +50,7 @@ public class DataServiceProxy implements IClient {
     private static final int QUERY_DLM_ACTION = 0;
     private static final String TAG_DATA_SERVICE = "NaturalBase Data Service";
     private static final long TIMEOUT_MILLISECONDS = 5000;
+    private static final long WRITE_BEHIND_CLOSE_TIMEOUT = 2000;
     private final CallbackManager callbackManager;
     private volatile long callbackTimeout;
     private volatile ServiceConnectCallback connectCallback;
@@ -62,6 +64,7 @@ public class DataServiceProxy implements IClient {
     private final Object locker;
     private final OdmfHelper odmfHelper;
     private final String pkgName;
+    private volatile WriteBehindBuffer writeBehindBuffer;
 
     public DataServiceProxy(Context context) {
         this.dsConnection = new RemoteServiceConnection(context, DATA_SERVICE_ACTION);
@@ -133,6 +136,7 @@ public class DataServiceProxy implements IClient {
     public boolean disconnect() {
         synchronized (this.locker) {
             if (this.hasBinded) {
+                disableWriteBehind();
                 invokeConnectCallback(false);
                 this.localObservable.dispose();
                 this.dsConnection.close();
@@ -196,6 +200,32 @@ public class DataServiceProxy implements IClient {
         return entities;
     }
 
+    public <T extends AManagedObject> CursorObjectIterator<T> executeStreamingQuery(Query query) {
+        return executeStreamingQuery(query, CursorObjectIterator.DEFAULT_WINDOW_SIZE);
+    }
+
+    public <T extends AManagedObject> CursorObjectIterator<T> executeStreamingQuery(Query query, int windowSize) {
+        if (query == null || !query.isValid()) {
+            setAndPrintError(1, "Failed to execute streaming query, error: invalid input query.", new Object[0]);
+            return null;
+        } else if (windowSize <= 0) {
+            setAndPrintError(1, "Failed to execute streaming query, error: window size must be positive.", new Object[0]);
+            return null;
+        } else {
+            BulkCursorDescriptor descriptor = executeCursorQueryDirect(query);
+            if (descriptor == null) {
+                setAndPrintError(4, "Failed to execute streaming query, error: service operation failed.", new Object[0]);
+                return null;
+            }
+            CursorObjectIterator<T> iterator = this.odmfHelper.iterateCursor(query.getEntityName(), descriptor, windowSize);
+            if (iterator != null) {
+                return iterator;
+            }
+            setAndPrintError(4, "Failed to execute streaming query, error: service operation failed.", new Object[0]);
+            return null;
+        }
+    }
+
     public Cursor executeRawQuery(RawQuery query) {
         if (query == null) {
             setAndPrintError(1, "Failed to execute raw query, error: null input query.", new Object[0]);
@@ -383,6 +413,12 @@ public class DataServiceProxy implements IClient {
         } else if (this.dataService == null) {
             setAndPrintError(2, "Failed to execute executeInsertEfficiently, error: not connected to data service.", new Object[0]);
             return false;
+        } else if (this.writeBehindBuffer != null) {
+            if (this.writeBehindBuffer.enqueue(WriteBehindBuffer.OPERATION_INSERT, entities)) {
+                return true;
+            }
+            setAndPrintError(4, "Failed to execute executeInsertEfficiently, error: pending write-behind batch could not be flushed.", new Object[0]);
+            return false;
         } else {
             try {
                 if (this.dataService.executeInsertEfficiently(new ObjectContainer(((AManagedObject) entities.get(0)).getClass(), entities, this.pkgName)) >= 0) {
@@ -423,6 +459,12 @@ public class DataServiceProxy implements IClient {
         } else if (this.dataService == null) {
             setAndPrintError(2, "Failed to execute update, error: not connected to data service.", new Object[0]);
             return false;
+        } else if (this.writeBehindBuffer != null) {
+            if (this.writeBehindBuffer.enqueue(WriteBehindBuffer.OPERATION_UPDATE, entities)) {
+                return true;
+            }
+            setAndPrintError(4, "Failed to execute update, error: pending write-behind batch could not be flushed.", new Object[0]);
+            return false;
         } else {
             updatedCount = -1;
             try {
@@ -466,6 +508,12 @@ public class DataServiceProxy implements IClient {
         } else if (this.dataService == null) {
             setAndPrintError(2, "Failed to execute delete, error: not connected to data service.", new Object[0]);
             return false;
+        } else if (this.writeBehindBuffer != null) {
+            if (this.writeBehindBuffer.enqueue(WriteBehindBuffer.OPERATION_DELETE, entities)) {
+                return true;
+            }
+            setAndPrintError(4, "Failed to execute delete, error: pending write-behind batch could not be flushed.", new Object[0]);
+            return false;
         } else {
             deletedCount = -1;
             try {
@@ -488,6 +536,99 @@ public class DataServiceProxy implements IClient {
         return z;
     }
 
+    public boolean enableWriteBehind(int maxBatchSize, long maxAgeMillis) {
+        if (maxBatchSize <= 0 || maxAgeMillis <= 0) {
+            setAndPrintError(1, "Failed to enable write-behind, error: invalid batch size or age.", new Object[0]);
+            return false;
+        }
+        synchronized (this.locker) {
+            if (!(this.writeBehindBuffer == null || this.writeBehindBuffer.close(WRITE_BEHIND_CLOSE_TIMEOUT))) {
+                setAndPrintError(4, "Failed to flush previous write-behind batches before re-enabling.", new Object[0]);
+            }
+            this.writeBehindBuffer = new WriteBehindBuffer(new WriteBehindBuffer.Sender() {
+                public boolean send(int operation, Class clazz, List<AManagedObject> entities) {
+                    return DataServiceProxy.this.sendWriteBatch(operation, clazz, entities);
+                }
+            }, maxBatchSize, maxAgeMillis);
+        }
+        return true;
+    }
+
+    public boolean disableWriteBehind() {
+        WriteBehindBuffer buffer;
+        synchronized (this.locker) {
+            buffer = this.writeBehindBuffer;
+            this.writeBehindBuffer = null;
+        }
+        if (buffer == null || buffer.close(WRITE_BEHIND_CLOSE_TIMEOUT)) {
+            return true;
+        }
+        setAndPrintError(4, "Failed to disable write-behind, error: %d entities could not be flushed.", Integer.valueOf(buffer.getPendingEntityCount()));
+        return false;
+    }
+
+    public boolean isWriteBehindEnabled() {
+        return this.writeBehindBuffer != null;
+    }
+
+    public boolean flush() {
+        WriteBehindBuffer buffer = this.writeBehindBuffer;
+        return buffer == null || buffer.flush();
+    }
+
+    public long getWriteBehindBatchCount() {
+        WriteBehindBuffer buffer = this.writeBehindBuffer;
+        return buffer != null ? buffer.getFlushedBatchCount() : 0;
+    }
+
+    public long getWriteBehindFailedBatchCount() {
+        WriteBehindBuffer buffer = this.writeBehindBuffer;
+        return buffer != null ? buffer.getFailedBatchCount() : 0;
+    }
+
+    public long getWriteBehindEntityCount() {
+        WriteBehindBuffer buffer = this.writeBehindBuffer;
+        return buffer != null ? buffer.getFlushedEntityCount() : 0;
+    }
+
+    public long getWriteBehindAverageLatency() {
+        WriteBehindBuffer buffer = this.writeBehindBuffer;
+        return buffer != null ? buffer.getAverageBatchLatency() : 0;
+    }
+
+    public long getWriteBehindMaxLatency() {
+        WriteBehindBuffer buffer = this.writeBehindBuffer;
+        return buffer != null ? buffer.getMaxBatchLatency() : 0;
+    }
+
+    private boolean sendWriteBatch(int operation, Class clazz, List<AManagedObject> entities) {
+        IDataServiceCall service = this.dataService;
+        if (service == null) {
+            DSLog.e("Failed to flush write-behind batch, error: not connected to data service.", new Object[0]);
+            return false;
+        }
+        ObjectContainer container = new ObjectContainer(clazz, entities, this.pkgName);
+        try {
+            switch (operation) {
+                case WriteBehindBuffer.OPERATION_INSERT /*0*/:
+                    return service.executeInsertEfficiently(container) >= 0;
+                case WriteBehindBuffer.OPERATION_UPDATE /*1*/:
+                    return service.executeUpdateDirect(container) >= 0;
+                case WriteBehindBuffer.OPERATION_DELETE /*2*/:
+                    return service.executeDeleteDirect(container, false) >= 0;
+                default:
+                    DSLog.e("Failed to flush write-behind batch, error: unknown operation %d.", Integer.valueOf(operation));
+                    return false;
+            }
+        } catch (RemoteException e) {
+            DSLog.e("Failed to flush write-behind batch, error: %s.", e.getMessage());
+            return false;
+        } catch (RuntimeException e2) {
+            DSLog.e("Failed to flush write-behind batch, error: %s.", e2.getMessage());
+            return false;
+        }
+    }
+
     /* JADX WARNING: Removed duplicated region for block: B:13:0x003d  */
     /* Code decompiled incorrectly, please refer to instructions dump. */
     public <T extends AManagedObject> boolean executeDeleteAll(Class<T> clazz) {
@@ -3,6 +3,7 @@ package com.huawei.nb.client;
 import android.database.Cursor;
 import com.huawei.nb.notification.ModelObserver;
 import com.huawei.nb.notification.ObserverType;
+import com.huawei.nb.odmfadapter.CursorObjectIterator;
 import com.huawei.nb.query.Query;
 import com.huawei.nb.query.RawQuery;
 import com.huawei.nb.query.RelationshipQuery;
@@ -38,6 +39,10 @@ public interface IClient {
 
     <T extends AManagedObject> T executeSingleQuery(Query query);
 
+    <T extends AManagedObject> CursorObjectIterator<T> executeStreamingQuery(Query query);
+
+    <T extends AManagedObject> CursorObjectIterator<T> executeStreamingQuery(Query query, int i);
+
     Object executeSumQuery(Query query);
 
     <T extends AManagedObject> boolean executeUpdate(T t);
@@ -0,0 +1,222 @@
+package com.huawei.nb.client;
+
+import android.os.SystemClock;
+import com.huawei.nb.utils.logger.DSLog;
+import com.huawei.odmf.core.AManagedObject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class WriteBehindBuffer {
+    private static final long CLOSE_RETRY_INTERVAL = 50;
+    static final int OPERATION_DELETE = 2;
+    static final int OPERATION_INSERT = 0;
+    static final int OPERATION_UPDATE = 1;
+    private final Map<Class, PendingBatch> batches = new HashMap();
+    private final AtomicLong failedBatchCount = new AtomicLong();
+    private final AtomicLong flushedBatchCount = new AtomicLong();
+    private final AtomicLong flushedEntityCount = new AtomicLong();
+    private final long maxAgeMillis;
+    private final int maxBatchSize;
+    private final AtomicLong maxLatency = new AtomicLong();
+    private final ScheduledExecutorService scheduler;
+    private final Sender sender;
+    private final AtomicLong totalLatency = new AtomicLong();
+
+    interface Sender {
+        boolean send(int i, Class cls, List<AManagedObject> list);
+    }
+
+    private static final class PendingBatch {
+        private final Class clazz;
+        private List<AManagedObject> entities = new ArrayList();
+        private int operation = -1;
+        private boolean scheduled;
+
+        PendingBatch(Class clazz) {
+            this.clazz = clazz;
+        }
+    }
+
+    WriteBehindBuffer(Sender sender, int maxBatchSize, long maxAgeMillis) {
+        this.sender = sender;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAgeMillis = maxAgeMillis;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "NaturalBaseWriteBehind");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.scheduler = executor;
+    }
+
+    int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    long getMaxAgeMillis() {
+        return this.maxAgeMillis;
+    }
+
+    <T extends AManagedObject> boolean enqueue(int operation, List<T> entities) {
+        Class clazz = ((AManagedObject) entities.get(0)).getClass();
+        PendingBatch batch = getBatch(clazz);
+        synchronized (batch) {
+            if (!(batch.operation == operation || batch.entities.isEmpty()) && !flushLocked(batch)) {
+                return false;
+            }
+            if (batch.entities.size() >= this.maxBatchSize && !flushLocked(batch)) {
+                return false;
+            }
+            batch.operation = operation;
+            batch.entities.addAll(entities);
+            if (batch.entities.size() >= this.maxBatchSize) {
+                flushLocked(batch);
+            } else if (!batch.scheduled) {
+                batch.scheduled = true;
+                scheduleAgeFlush(batch);
+            }
+        }
+        return true;
+    }
+
+    boolean flush() {
+        List<PendingBatch> pending;
+        synchronized (this.batches) {
+            pending = new ArrayList(this.batches.values());
+        }
+        boolean success = true;
+        for (PendingBatch batch : pending) {
+            synchronized (batch) {
+                if (!flushLocked(batch)) {
+                    success = false;
+                }
+            }
+        }
+        return success;
+    }
+
+    boolean close(long timeoutMillis) {
+        long deadline = SystemClock.elapsedRealtime() + timeoutMillis;
+        boolean success = flush();
+        while (!success) {
+            long remaining = deadline - SystemClock.elapsedRealtime();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                Thread.sleep(Math.min(remaining, CLOSE_RETRY_INTERVAL));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            success = flush();
+        }
+        this.scheduler.shutdownNow();
+        if (!success) {
+            DSLog.e("Write-behind closed with %d unflushed entities, they are discarded.", Integer.valueOf(getPendingEntityCount()));
+        }
+        return success;
+    }
+
+    int getPendingEntityCount() {
+        List<PendingBatch> pending;
+        synchronized (this.batches) {
+            pending = new ArrayList(this.batches.values());
+        }
+        int count = 0;
+        for (PendingBatch batch : pending) {
+            synchronized (batch) {
+                count += batch.entities.size();
+            }
+        }
+        return count;
+    }
+
+    long getFlushedBatchCount() {
+        return this.flushedBatchCount.get();
+    }
+
+    long getFlushedEntityCount() {
+        return this.flushedEntityCount.get();
+    }
+
+    long getFailedBatchCount() {
+        return this.failedBatchCount.get();
+    }
+
+    long getAverageBatchLatency() {
+        long count = this.flushedBatchCount.get() + this.failedBatchCount.get();
+        return count != 0 ? this.totalLatency.get() / count : 0;
+    }
+
+    long getMaxBatchLatency() {
+        return this.maxLatency.get();
+    }
+
+    private PendingBatch getBatch(Class clazz) {
+        PendingBatch batch;
+        synchronized (this.batches) {
+            batch = (PendingBatch) this.batches.get(clazz);
+            if (batch == null) {
+                batch = new PendingBatch(clazz);
+                this.batches.put(clazz, batch);
+            }
+        }
+        return batch;
+    }
+
+    private void scheduleAgeFlush(final PendingBatch batch) {
+        if (this.scheduler.isShutdown()) {
+            batch.scheduled = false;
+            return;
+        }
+        this.scheduler.schedule(new Runnable() {
+            public void run() {
+                synchronized (batch) {
+                    WriteBehindBuffer.this.flushLocked(batch);
+                }
+            }
+        }, this.maxAgeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean flushLocked(PendingBatch batch) {
+        batch.scheduled = false;
+        if (batch.entities.isEmpty()) {
+            return true;
+        }
+        List<AManagedObject> entities = batch.entities;
+        int operation = batch.operation;
+        batch.entities = new ArrayList();
+        batch.operation = -1;
+        long start = SystemClock.elapsedRealtime();
+        boolean success = this.sender.send(operation, batch.clazz, entities);
+        long latency = SystemClock.elapsedRealtime() - start;
+        this.totalLatency.addAndGet(latency);
+        long max = this.maxLatency.get();
+        while (latency > max && !this.maxLatency.compareAndSet(max, latency)) {
+            max = this.maxLatency.get();
+        }
+        if (success) {
+            this.flushedBatchCount.incrementAndGet();
+            this.flushedEntityCount.addAndGet((long) entities.size());
+        } else {
+            this.failedBatchCount.incrementAndGet();
+            batch.entities = entities;
+            batch.operation = operation;
+            batch.scheduled = true;
+            scheduleAgeFlush(batch);
+        }
+        DSLog.d("Write-behind batch of %d %s entities flushed in %d ms, success: %b.", Integer.valueOf(entities.size()), batch.clazz.getSimpleName(), Long.valueOf(latency), Boolean.valueOf(success));
+        return success;
+    }
+}
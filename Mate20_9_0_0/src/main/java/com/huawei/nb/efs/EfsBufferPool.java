@@ -0,0 +1,61 @@
+package com.huawei.nb.efs;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class EfsBufferPool {
+    public static final int DEFAULT_BUFFER_SIZE = 65536;
+    private static final int DEFAULT_MAX_POOLED = 8;
+    private static final EfsBufferPool DEFAULT_POOL = new EfsBufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+    private final int bufferSize;
+    private final ConcurrentLinkedQueue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue();
+    private final int maxPooled;
+    private final AtomicInteger pooledCount = new AtomicInteger();
+
+    public EfsBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0 || maxPooled < 0) {
+            throw new IllegalArgumentException("Invalid arguments, bufferSize <= 0 or maxPooled < 0");
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    public static EfsBufferPool getDefault() {
+        return DEFAULT_POOL;
+    }
+
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    public int getPooledCount() {
+        return this.pooledCount.get();
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = (ByteBuffer) this.freeBuffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(this.bufferSize);
+        }
+        this.pooledCount.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer != null && buffer.isDirect() && buffer.capacity() == this.bufferSize) {
+            if (this.pooledCount.incrementAndGet() <= this.maxPooled) {
+                this.freeBuffers.offer(buffer);
+            } else {
+                this.pooledCount.decrementAndGet();
+            }
+        }
+    }
+
+    public void clear() {
+        while (this.freeBuffers.poll() != null) {
+            this.pooledCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.huawei.nb.efs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+public class EfsReadChannel implements ReadableByteChannel {
+    private ByteBuffer chunk;
+    private final EfsRwChannel channel;
+    private final boolean closeChannel;
+    private boolean open = true;
+    private final EfsBufferPool pool;
+    private int position;
+    private final int size;
+
+    EfsReadChannel(EfsRwChannel channel, EfsBufferPool pool, boolean closeChannel) throws EfsException {
+        this.channel = channel;
+        this.pool = pool;
+        this.closeChannel = closeChannel;
+        channel.startTransaction(0, 0);
+        try {
+            this.size = channel.getFileSize();
+        } catch (EfsException e) {
+            channel.endTransaction(false);
+            throw e;
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int position() {
+        return this.position;
+    }
+
+    public int read(ByteBuffer dst) throws IOException {
+        if (!this.open) {
+            throw new ClosedChannelException();
+        } else if (this.position >= this.size) {
+            return -1;
+        } else if (!dst.hasRemaining()) {
+            return 0;
+        } else {
+            int length = Math.min(dst.remaining(), this.size - this.position);
+            try {
+                int count;
+                if (dst.isDirect()) {
+                    ByteBuffer target = dst.duplicate();
+                    target.limit(target.position() + length);
+                    count = this.channel.read(this.position, target);
+                    dst.position(target.position());
+                } else {
+                    if (this.chunk == null) {
+                        this.chunk = this.pool.acquire();
+                    }
+                    this.chunk.clear();
+                    this.chunk.limit(Math.min(length, this.chunk.capacity()));
+                    count = this.channel.read(this.position, this.chunk);
+                    this.chunk.flip();
+                    dst.put(this.chunk);
+                }
+                if (count <= 0) {
+                    throw new IOException("Read EFS file failed at position " + this.position);
+                }
+                this.position += count;
+                return count;
+            } catch (EfsException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+
+    public boolean isOpen() {
+        return this.open;
+    }
+
+    public void close() throws IOException {
+        if (this.open) {
+            this.open = false;
+            if (this.chunk != null) {
+                this.pool.release(this.chunk);
+                this.chunk = null;
+            }
+            try {
+                this.channel.endTransaction(true);
+                if (this.closeChannel) {
+                    this.channel.close();
+                }
+            } catch (EfsException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+}
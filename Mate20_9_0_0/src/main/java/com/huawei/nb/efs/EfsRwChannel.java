@@ -112,6 +112,45 @@ public class EfsRwChannel {
         return buffer;
     }
 
+    public int read(int pos, ByteBuffer dst) throws EfsException {
+        if (dst == null) {
+            throw new EfsException("Invalid arguments, buffer is null");
+        } else if (!dst.isDirect()) {
+            throw new EfsException("Invalid arguments, buffer is not direct");
+        } else if (pos < 0) {
+            throw new EfsException("Invalid arguments, pos < 0");
+        } else if (!dst.hasRemaining()) {
+            return 0;
+        } else {
+            int count = nativeRead(this.mChannelPtr, pos, dst.slice(), dst.remaining());
+            if (count > 0) {
+                dst.position(dst.position() + count);
+            }
+            return count;
+        }
+    }
+
+    public EfsReadChannel newReadChannel() throws EfsException {
+        return new EfsReadChannel(this, EfsBufferPool.getDefault(), false);
+    }
+
+    public EfsReadChannel newReadChannel(EfsBufferPool pool) throws EfsException {
+        if (pool != null) {
+            return new EfsReadChannel(this, pool, false);
+        }
+        throw new EfsException("Invalid arguments, buffer pool is null");
+    }
+
+    public static EfsReadChannel openReadChannel(String path, int openFlags, byte[] key) throws EfsException {
+        EfsRwChannel chnl = open(path, openFlags, key);
+        try {
+            return new EfsReadChannel(chnl, EfsBufferPool.getDefault(), true);
+        } catch (EfsException e) {
+            chnl.close();
+            throw e;
+        }
+    }
+
     public int write(int pos, byte[] bytes, int offset, int size) throws EfsException {
         return nativeWrite(this.mChannelPtr, pos, bytes, offset, size);
     }
@@ -0,0 +1,84 @@
+package com.huawei.nb.odmfadapter;
+
+import android.database.Cursor;
+import com.huawei.nb.utils.logger.DSLog;
+import com.huawei.odmf.core.AManagedObject;
+import com.huawei.odmf.user.api.ObjectContext;
+import java.io.Closeable;
+import java.lang.reflect.Constructor;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class CursorObjectIterator<T extends AManagedObject> implements Iterator<T>, Closeable {
+    public static final int DEFAULT_WINDOW_SIZE = 64;
+    private final ArrayDeque<T> buffer;
+    private final Constructor constructor;
+    private Cursor cursor;
+    private final String entityName;
+    private final ObjectContext objectContext;
+    private final int windowSize;
+
+    CursorObjectIterator(String entityName, Constructor constructor, Cursor cursor, ObjectContext objectContext, int windowSize) {
+        this.entityName = entityName;
+        this.constructor = constructor;
+        this.cursor = cursor;
+        this.objectContext = objectContext;
+        this.windowSize = windowSize > 0 ? windowSize : DEFAULT_WINDOW_SIZE;
+        this.buffer = new ArrayDeque(this.windowSize);
+    }
+
+    public int getCount() {
+        return this.cursor != null ? this.cursor.getCount() : 0;
+    }
+
+    public int getWindowSize() {
+        return this.windowSize;
+    }
+
+    public boolean hasNext() {
+        if (this.buffer.isEmpty()) {
+            fill();
+        }
+        return !this.buffer.isEmpty();
+    }
+
+    public T next() {
+        if (hasNext()) {
+            return (AManagedObject) this.buffer.poll();
+        }
+        throw new NoSuchElementException();
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    public void close() {
+        this.buffer.clear();
+        if (this.cursor != null) {
+            this.cursor.close();
+            this.cursor = null;
+        }
+    }
+
+    private void fill() {
+        if (this.cursor != null) {
+            while (this.buffer.size() < this.windowSize && this.cursor.moveToNext()) {
+                try {
+                    T object = (AManagedObject) this.constructor.newInstance(new Object[]{this.cursor});
+                    object.setState(4);
+                    object.setObjectContext(this.objectContext);
+                    this.buffer.add(object);
+                } catch (ReflectiveOperationException e) {
+                    DSLog.e("Failed to read entity %s from cursor.", this.entityName);
+                    close();
+                    throw new IllegalStateException("Failed to read entity " + this.entityName + " from cursor.", e);
+                }
+            }
+            if (this.buffer.isEmpty()) {
+                close();
+            }
+        }
+    }
+}
@@ -59,6 +59,19 @@ public class OdmfHelper {
         return results;
     }
 
+    public <T extends AManagedObject> CursorObjectIterator<T> iterateCursor(String entityName, Object cursor, int windowSize) {
+        if (entityName == null || cursor == null || !(cursor instanceof BulkCursorDescriptor)) {
+            DSLog.e("Failed to iterate cursor, error: null input parameters.", new Object[0]);
+            return null;
+        }
+        Constructor constructor = getConstructorOfClass(entityName);
+        if (constructor == null) {
+            DSLog.e("Failed to iterate cursor, error: null object constructor.", new Object[0]);
+            return null;
+        }
+        return new CursorObjectIterator(entityName, constructor, wrapCursor(cursor), this.objectContext, windowSize);
+    }
+
     public List parseNativeCursor(String entityName, Cursor cursor) {
         if (entityName == null || cursor == null) {
             DSLog.e("Failed to parse native cursor, error: null input parameters.", new Object[0]);
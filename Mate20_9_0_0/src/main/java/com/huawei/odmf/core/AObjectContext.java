@@ -22,6 +22,7 @@ import java.util.List;
 
 public class AObjectContext implements ObjectContext {
     private static PersistentStoreCoordinator defaultCoordinator = PersistentStoreCoordinator.getDefault();
+    private boolean bulkInsert = false;
     private List<ManagedObject> deletedObjects = new ArrayList();
     private List<ManagedObject> insertedObjects = new ArrayList();
     private TransactionImpl mTransactionImpl;
@@ -137,6 +138,14 @@ public class AObjectContext implements ObjectContext {
         this.queryCacheNumbers = queryCacheNumbers;
     }
 
+    public void setBulkInsert(boolean bulkInsert) {
+        this.bulkInsert = bulkInsert;
+    }
+
+    public boolean isBulkInsert() {
+        return this.bulkInsert;
+    }
+
     public void beginTransaction() {
         this.mTransactionImpl = new TransactionImpl(this);
         this.mTransactionImpl.beginTransaction();
@@ -181,7 +190,7 @@ public class AObjectContext implements ObjectContext {
             return false;
         }
         try {
-            defaultCoordinator.save(new SaveRequest(this.insertedObjects, this.updatedObjects, this.deletedObjects), this);
+            defaultCoordinator.save(new SaveRequest(this.insertedObjects, this.updatedObjects, this.deletedObjects, this.bulkInsert), this);
             if (this.mTransactionImpl != null && this.mTransactionImpl.inTransaction()) {
                 this.mTransactionImpl.setTransactionInsertObjectList(this.insertedObjects);
                 this.mTransactionImpl.setTransactionUpdateObjectList(this.updatedObjects);
@@ -222,6 +231,14 @@ public class AObjectContext implements ObjectContext {
         throw new ODMFIllegalArgumentException("Execute get failed : The parameter objectID is null.");
     }
 
+    List<ManagedObject> getObjects(List<ObjectId> objectIDs) {
+        if (objectIDs != null) {
+            return defaultCoordinator.getObjectsValues(objectIDs, this);
+        }
+        LOG.logE("Execute getObjects failed : The parameter objectIDs is null.");
+        throw new ODMFIllegalArgumentException("Execute getObjects failed : The parameter objectIDs is null.");
+    }
+
     public void deleteEntityData(Class clz) {
         if (clz == null) {
             LOG.logE("Execute deleteTableData failed : The parameter clz is null.");
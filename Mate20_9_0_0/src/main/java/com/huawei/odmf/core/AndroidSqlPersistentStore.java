@@ -7,6 +7,8 @@ import android.database.Cursor;
 import android.database.CursorWindow;
 import android.database.SQLException;
 import android.database.StaleDataException;
+import android.database.sqlite.SQLiteDoneException;
+import android.database.sqlite.SQLiteQueryBuilder;
 import com.huawei.hwsqlite.SQLiteAccessPermException;
 import com.huawei.hwsqlite.SQLiteCantOpenDatabaseException;
 import com.huawei.hwsqlite.SQLiteDatabaseCorruptException;
@@ -43,23 +45,32 @@ import com.huawei.odmf.store.DatabaseHelper;
 import com.huawei.odmf.store.DatabaseTableHelper;
 import com.huawei.odmf.store.ODMFDatabaseHelper;
 import com.huawei.odmf.user.api.ObjectContext;
+import com.huawei.odmf.utils.BindBuffer;
+import com.huawei.odmf.utils.BindUtils;
 import com.huawei.odmf.utils.CursorUtils;
 import com.huawei.odmf.utils.LOG;
+import com.huawei.odmf.utils.SqlUtil;
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 class AndroidSqlPersistentStore extends PersistentStore {
+    private static final int MAX_ROWID_IN_CLAUSE = 999;
     private Context context;
     protected DatabaseHelper databaseHelper;
     protected DataBase db;
     private Map<String, AEntityHelper> helperMap;
+    private ReadConnectionPool readConnectionPool;
+    private int readConnectionPoolSize;
     private RelationshipLoader relationshipLoader;
+    private int statementCacheSize;
     private final Object statementLock;
+    private StatementPool statementPool;
     private String uriString;
 
     AndroidSqlPersistentStore(Context context, String modelPath, String uriString, Configuration configuration) {
@@ -81,6 +92,8 @@ class AndroidSqlPersistentStore extends PersistentStore {
             if (configuration.getStorageMode() == Configuration.CONFIGURATION_STORAGE_MODE_MEMORY) {
                 databaseName = null;
             }
+            this.statementCacheSize = configuration.getStatementCacheSize();
+            this.readConnectionPoolSize = configuration.getReadConnectionPoolSize();
             init(databaseName, key, configuration.isThrowException(), configuration.isDetectDelete());
             this.uriString = uriString;
         } catch (ODMFIllegalArgumentException e2) {
@@ -111,10 +124,16 @@ class AndroidSqlPersistentStore extends PersistentStore {
                 LOG.logE("Init database failed : incorrect configuration of database.");
                 throw new ODMFRuntimeException("The configuration of database is wrong.");
             }
+            this.db.setMaxSqlCacheSize(this.statementCacheSize);
+            this.statementPool = new StatementPool(this.db, this.statementCacheSize);
+            if (getDatabaseType() == Configuration.CONFIGURATION_DATABASE_ANDROID && databasePath != null) {
+                this.readConnectionPool = ReadConnectionPool.open(((AndroidSQLiteDatabase) this.db).getAndroidSQLiteDatabase().getPath(), this.readConnectionPoolSize, this.statementCacheSize);
+                this.statementPool.setReadConnectionPool(this.readConnectionPool);
+            }
             loadMetadata();
             this.helperMap = new ConcurrentHashMap();
             initHelper(getModel());
-            this.relationshipLoader = new RelationshipLoader(this.db, getModel(), this.helperMap);
+            this.relationshipLoader = new RelationshipLoader(this.db, getModel(), this.helperMap, this.statementPool);
             if (key != null && key.length > 0) {
                 for (i = 0; i < key.length; i++) {
                     key[i] = (byte) 0;
@@ -297,7 +316,7 @@ class AndroidSqlPersistentStore extends PersistentStore {
         String tableName = entity.getTableName();
         overwriteJoinClause(request);
         try {
-            cursor = DatabaseQueryService.query(this.db, tableName + request.getJoinClause().toString(), request);
+            cursor = DatabaseQueryService.query(getReadDatabase(), tableName + request.getJoinClause().toString(), request);
             boolean useFastCursor = false;
             if (getDatabaseType() == Configuration.CONFIGURATION_DATABASE_ANDROID) {
                 int count = cursor.getCount();
@@ -456,7 +475,7 @@ class AndroidSqlPersistentStore extends PersistentStore {
         overwriteJoinClause(request);
         Cursor cursor = null;
         try {
-            cursor = DatabaseQueryService.queryRowID(this.db, tableName + request.getJoinClause().toString(), request);
+            cursor = DatabaseQueryService.queryRowID(getReadDatabase(), tableName + request.getJoinClause().toString(), request);
             while (cursor.moveToNext()) {
                 results.add(createObjectID(entity, Long.valueOf(cursor.getLong(DatabaseQueryService.getOdmfRowidIndex()))));
             }
@@ -499,7 +518,11 @@ class AndroidSqlPersistentStore extends PersistentStore {
             Cursor cursor = null;
             List<Object> result = new ArrayList();
             try {
-                cursor = DatabaseQueryService.queryWithAggregateFunction(this.db, tableName, request);
+                if (columns.length == 1) {
+                    result.add(CursorUtils.extractAggregateResult(simpleQueryWithAggregateFunction(tableName, request), aggregateOp[0], entity.getAttribute(columns[0])));
+                    return result;
+                }
+                cursor = DatabaseQueryService.queryWithAggregateFunction(getReadDatabase(), tableName, request);
                 cursor.moveToFirst();
                 for (int i = 0; i < columns.length; i++) {
                     result.add(CursorUtils.extractAggregateResult(cursor.getString(i), aggregateOp[i], entity.getAttribute(columns[i])));
@@ -540,6 +563,28 @@ class AndroidSqlPersistentStore extends PersistentStore {
         }
     }
 
+    private String simpleQueryWithAggregateFunction(String tableName, FetchRequest request) {
+        String selection = request.getSqlRequest() == null ? null : request.getSqlRequest().toString();
+        String order = (request.getOrder() == null || request.getOrder().toString().equals("")) ? null : request.getOrder().toString();
+        String limit = (request.getLimit() == null || request.getLimit().equals("")) ? null : request.getLimit();
+        String sql = SQLiteQueryBuilder.buildQueryString(false, tableName, request.getColumnsWithAggregateFunction(), selection, null, null, order, limit);
+        try {
+            return this.statementPool.simpleQueryForString(sql, request.getSelectionArgs());
+        } catch (SQLiteDoneException e) {
+            return null;
+        } catch (com.huawei.hwsqlite.SQLiteDoneException e2) {
+            return null;
+        }
+    }
+
+    StatementPool getStatementPool() {
+        return this.statementPool;
+    }
+
+    DataBase getReadDatabase() {
+        return this.readConnectionPool != null ? this.readConnectionPool.select(this.db) : this.db;
+    }
+
     protected Cursor executeFetchRequestGetCursor(FetchRequest request) {
         SQLException e;
         if (request == null) {
@@ -554,7 +599,7 @@ class AndroidSqlPersistentStore extends PersistentStore {
         String tableName = entity.getTableName();
         overwriteJoinClause(request);
         try {
-            return DatabaseQueryService.commonquery(this.db, tableName + request.getJoinClause().toString(), request);
+            return DatabaseQueryService.commonquery(getReadDatabase(), tableName + request.getJoinClause().toString(), request);
         } catch (StaleDataException e2) {
             LOG.logE("Execute FetchRequest failed : A StaleDataException occurred when query");
             throw new ODMFRuntimeException("Execute FetchRequest failed : " + e2.getMessage(), e2);
@@ -657,6 +702,102 @@ class AndroidSqlPersistentStore extends PersistentStore {
         this.relationshipLoader.handleRelationship(insertList);
     }
 
+    private void executeBulkInsert(List<ManagedObject> insertList) {
+        Map<AEntityHelper, List<ManagedObject>> groups = new LinkedHashMap();
+        for (ManagedObject object : insertList) {
+            AEntityHelper entityHelper = ((AManagedObject) object).getHelper();
+            if (checkEntityHelper(entityHelper)) {
+                List<ManagedObject> group = (List) groups.get(entityHelper);
+                if (group == null) {
+                    group = new ArrayList();
+                    groups.put(entityHelper, group);
+                }
+                group.add(object);
+            } else {
+                throw new ODMFIllegalArgumentException("Execute SaveRequest failed : The object is incompatible with the ObjectContext.");
+            }
+        }
+        for (Entry<AEntityHelper, List<ManagedObject>> entry : groups.entrySet()) {
+            executeBulkInsert((AEntityHelper) entry.getKey(), (List) entry.getValue());
+        }
+        this.relationshipLoader.handleRelationship(insertList);
+    }
+
+    private void executeBulkInsert(AEntityHelper entityHelper, List<ManagedObject> objects) {
+        Entity entity = entityHelper.getEntity();
+        List<? extends Attribute> attributes = entity.getAttributes();
+        int keyIndex = getAutoIncrementKeyIndex(entity);
+        int columnCount = attributes.size();
+        int chunkSize = StatementsLoader.getBulkInsertRowCount(columnCount);
+        int size = objects.size();
+        int start = 0;
+        while (start < size) {
+            int rows = Math.min(chunkSize, size - start);
+            synchronized (this.statementLock) {
+                BindBuffer buffer = BindUtils.obtainBindBuffer(columnCount, rows);
+                boolean hasExplicitKey = keyIndex < 0;
+                for (int i = 0; i < rows; i++) {
+                    buffer.setRow(i);
+                    entityHelper.bindValue(buffer, objects.get(start + i));
+                    if (!(hasExplicitKey || buffer.isNull(i, keyIndex + 1))) {
+                        hasExplicitKey = true;
+                    }
+                }
+                if (hasExplicitKey || rows == 1) {
+                    Statement statement = entity.getStatements().getInsertStatement(this.db, entity.getTableName(), attributes);
+                    for (int i2 = 0; i2 < rows; i2++) {
+                        buffer.bindRowTo(statement, i2);
+                        long lastRowID = statement.executeInsert();
+                        statement.clearBindings();
+                        finishInsert(entityHelper, entity, (ManagedObject) objects.get(start + i2), lastRowID);
+                    }
+                } else {
+                    boolean isFullChunk = rows == chunkSize;
+                    Statement statement2 = isFullChunk ? entity.getStatements().getBulkInsertStatement(this.db, entity.getTableName(), attributes) : this.db.compileStatement(SqlUtil.createSqlMultiInsert(entity.getTableName(), attributes, rows));
+                    try {
+                        buffer.bindTo(statement2, rows);
+                        long lastRowID2 = statement2.executeInsert();
+                        statement2.clearBindings();
+                        long firstRowID = lastRowID2 - ((long) (rows - 1));
+                        for (int i3 = 0; i3 < rows; i3++) {
+                            finishInsert(entityHelper, entity, (ManagedObject) objects.get(start + i3), firstRowID + ((long) i3));
+                        }
+                    } finally {
+                        if (!isFullChunk) {
+                            statement2.close();
+                        }
+                    }
+                }
+                buffer.clearBindings();
+            }
+            start += rows;
+        }
+    }
+
+    private static int getAutoIncrementKeyIndex(Entity entity) {
+        if (!entity.isKeyAutoIncrement() || entity.getEntityId() == null || entity.getEntityId().size() != 1) {
+            return -1;
+        }
+        Object entityId = entity.getEntityId().get(0);
+        List<? extends Attribute> attributes = entity.getAttributes();
+        int size = attributes.size();
+        for (int i = 0; i < size; i++) {
+            if (attributes.get(i) == entityId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void finishInsert(AEntityHelper entityHelper, Entity entity, ManagedObject object, long rowId) {
+        object.setRowId(Long.valueOf(rowId));
+        object.setUriString(this.uriString);
+        if (entity.isKeyAutoIncrement()) {
+            entityHelper.setPrimaryKeyValue(object, rowId);
+        }
+        object.setState(4);
+    }
+
     private boolean checkEntityHelper(AEntityHelper entityHelper) {
         Entity entity = entityHelper.getEntity();
         if (entity.getModel() == this.model) {
@@ -754,7 +895,11 @@ class AndroidSqlPersistentStore extends PersistentStore {
             throw new ODMFIllegalArgumentException("The parameter request is null");
         }
         try {
-            executeInsert(request.getInsertedObjects());
+            if (request.isBulkInsert()) {
+                executeBulkInsert(request.getInsertedObjects());
+            } else {
+                executeInsert(request.getInsertedObjects());
+            }
             executeUpdate(request.getUpdatedObjects());
             executeDelete(request.getDeletedObjects());
         } catch (NullPointerException e3) {
@@ -972,7 +1117,7 @@ class AndroidSqlPersistentStore extends PersistentStore {
         ManagedObject managedObject = null;
         Cursor cursor = null;
         try {
-            cursor = DatabaseQueryService.query(this.db, entity.getTableName(), new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + DatabaseQueryService.getRowidColumnName(), "*"}, DatabaseQueryService.getRowidColumnName() + "=?", new String[]{String.valueOf(id)});
+            cursor = DatabaseQueryService.query(getReadDatabase(), entity.getTableName(), new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + DatabaseQueryService.getRowidColumnName(), "*"}, DatabaseQueryService.getRowidColumnName() + "=?", new String[]{String.valueOf(id)});
             if (cursor.moveToNext()) {
                 managedObject = (ManagedObject) entityHelper.readObject(cursor, 0);
                 managedObject.setObjectId(objectId);
@@ -989,6 +1134,72 @@ class AndroidSqlPersistentStore extends PersistentStore {
         }
     }
 
+    protected List<ManagedObject> getObjectsValues(List<ObjectId> objectIds) {
+        int size = objectIds.size();
+        List<ManagedObject> results = new ArrayList(size);
+        Map<String, Map<Long, List<Integer>>> positions = new LinkedHashMap();
+        for (int i = 0; i < size; i++) {
+            results.add(null);
+            ObjectId objectId = (ObjectId) objectIds.get(i);
+            if (objectId != null) {
+                Map<Long, List<Integer>> entityPositions = (Map) positions.get(objectId.getEntityName());
+                if (entityPositions == null) {
+                    entityPositions = new LinkedHashMap();
+                    positions.put(objectId.getEntityName(), entityPositions);
+                }
+                Long id = (Long) objectId.getId();
+                List<Integer> indexes = (List) entityPositions.get(id);
+                if (indexes == null) {
+                    indexes = new ArrayList(1);
+                    entityPositions.put(id, indexes);
+                }
+                indexes.add(Integer.valueOf(i));
+            }
+        }
+        for (Entry<String, Map<Long, List<Integer>>> entry : positions.entrySet()) {
+            loadObjectsByRowId((String) entry.getKey(), (Map) entry.getValue(), objectIds, results);
+        }
+        return results;
+    }
+
+    private void loadObjectsByRowId(String entityName, Map<Long, List<Integer>> entityPositions, List<ObjectId> objectIds, List<ManagedObject> results) {
+        Entity entity = getModel().getEntity(entityName);
+        AEntityHelper entityHelper = getHelper(entityName);
+        List<Long> ids = new ArrayList(entityPositions.keySet());
+        int total = ids.size();
+        int start = 0;
+        while (start < total) {
+            int count = Math.min(MAX_ROWID_IN_CLAUSE, total - start);
+            String[] selectionArgs = new String[count];
+            StringBuilder selection = new StringBuilder(DatabaseQueryService.getRowidColumnName()).append(" IN (");
+            SqlUtil.appendPlaceholders(selection, count).append(')');
+            for (int i = 0; i < count; i++) {
+                selectionArgs[i] = String.valueOf(ids.get(start + i));
+            }
+            Cursor cursor = null;
+            try {
+                cursor = DatabaseQueryService.query(getReadDatabase(), entity.getTableName(), new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + DatabaseQueryService.getRowidColumnName(), "*"}, selection.toString(), selectionArgs);
+                while (cursor.moveToNext()) {
+                    Long rowId = Long.valueOf(cursor.getLong(DatabaseQueryService.getOdmfRowidIndex()));
+                    List<Integer> indexes = (List) entityPositions.get(rowId);
+                    if (indexes != null) {
+                        for (Integer index : indexes) {
+                            ManagedObject managedObject = (ManagedObject) entityHelper.readObject(cursor, 0);
+                            managedObject.setObjectId((ObjectId) objectIds.get(index.intValue()));
+                            managedObject.setRowId(rowId);
+                            results.set(index.intValue(), managedObject);
+                        }
+                    }
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+            start += count;
+        }
+    }
+
     protected List<ObjectId> getRelationshipObjectId(ObjectId objectId, Relationship relationship) {
         SQLException e;
         Entity relatedEntity = relationship.getRelatedEntity();
@@ -1047,6 +1258,13 @@ class AndroidSqlPersistentStore extends PersistentStore {
     protected void close() {
         SQLException e;
         try {
+            if (this.statementPool != null) {
+                this.statementPool.clear();
+            }
+            if (this.readConnectionPool != null) {
+                this.readConnectionPool.close();
+                this.readConnectionPool = null;
+            }
             this.databaseHelper.close();
         } catch (android.database.sqlite.SQLiteDatabaseCorruptException e2) {
             e = e2;
@@ -1327,7 +1545,7 @@ class AndroidSqlPersistentStore extends PersistentStore {
     protected Cursor query(boolean distinct, String table, String[] columns, String selection, String[] selectionArgs, String groupBy, String having, String orderBy, String limit) {
         SQLException e;
         try {
-            return DatabaseQueryService.query(this.db, distinct, table, columns, selection, selectionArgs, groupBy, having, orderBy, limit);
+            return DatabaseQueryService.query(getReadDatabase(), distinct, table, columns, selection, selectionArgs, groupBy, having, orderBy, limit);
         } catch (IllegalStateException e2) {
             LOG.logE("Execute query failed : A IllegalStateException occurred when execute query.");
             throw new ODMFRuntimeException("Execute query failed : " + e2.getMessage(), e2);
@@ -1,9 +1,11 @@
 package com.huawei.odmf.core;
 
-import com.huawei.odmf.utils.ODMFCache;
+import com.huawei.odmf.utils.Cache;
 import com.huawei.odmf.utils.Singleton;
 
 public class CacheConfig {
+    public static final int CACHE_TYPE_CONCURRENT = 1;
+    public static final int CACHE_TYPE_LRU = 0;
     private static final Singleton<CacheConfig> gDefault = new Singleton<CacheConfig>() {
         public CacheConfig create() {
             return new CacheConfig();
@@ -11,7 +13,10 @@ public class CacheConfig {
     };
     private boolean isOpenObjectCache;
     private final Object lock;
+    private int objectCacheConcurrencyLevel;
+    private long objectCacheMaxWeight;
     private int objectCacheNum;
+    private int objectCacheType;
 
     /* synthetic */ CacheConfig(AnonymousClass1 x0) {
         this();
@@ -36,7 +41,7 @@ public class CacheConfig {
             if (!current && !this.isOpenObjectCache) {
             } else if (current && this.isOpenObjectCache) {
             } else {
-                ODMFCache cache = PersistentStoreCoordinator.getDefault().getObjectsCache();
+                Cache cache = PersistentStoreCoordinator.getDefault().getObjectsCache();
                 if (cache != null) {
                     cache.clear();
                 }
@@ -56,7 +61,7 @@ public class CacheConfig {
             boolean current = this.isOpenObjectCache;
             this.isOpenObjectCache = openObjectCache;
             if (current || this.isOpenObjectCache) {
-                ODMFCache cache = PersistentStoreCoordinator.getDefault().getObjectsCache();
+                Cache cache = PersistentStoreCoordinator.getDefault().getObjectsCache();
                 if (cache != null) {
                     cache.clear();
                 }
@@ -82,10 +87,56 @@ public class CacheConfig {
         }
     }
 
+    public int getObjectCacheType() {
+        int i;
+        synchronized (this.lock) {
+            i = this.objectCacheType;
+        }
+        return i;
+    }
+
+    public long getObjectCacheMaxWeight() {
+        long j;
+        synchronized (this.lock) {
+            j = this.objectCacheMaxWeight;
+        }
+        return j;
+    }
+
+    public int getObjectCacheConcurrencyLevel() {
+        int i;
+        synchronized (this.lock) {
+            i = this.objectCacheConcurrencyLevel;
+        }
+        return i;
+    }
+
+    public void setObjectCacheType(int objectCacheType, long maxWeight, int concurrencyLevel) {
+        if (objectCacheType != CACHE_TYPE_LRU && objectCacheType != CACHE_TYPE_CONCURRENT) {
+            throw new IllegalArgumentException("Unknown object cache type " + objectCacheType);
+        } else if (maxWeight <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("maxWeight <= 0 || concurrencyLevel <= 0");
+        } else {
+            boolean isOpen;
+            synchronized (this.lock) {
+                this.objectCacheType = objectCacheType;
+                this.objectCacheMaxWeight = maxWeight;
+                this.objectCacheConcurrencyLevel = concurrencyLevel;
+                isOpen = this.isOpenObjectCache;
+            }
+            if (isOpen) {
+                PersistentStoreCoordinator.getDefault().recreateObjectsCache();
+            }
+        }
+    }
+
     private CacheConfig() {
         this.lock = new Object();
         this.isOpenObjectCache = false;
         this.objectCacheNum = 100;
+        this.objectCacheType = CACHE_TYPE_LRU;
+        this.objectCacheMaxWeight = 1048576;
+        this.objectCacheConcurrencyLevel = 16;
     }
 
     public static CacheConfig getDefault() {
@@ -9,9 +9,14 @@ public class Configuration {
     public static final int CONFIGURATION_STORAGE_MODE_MEMORY = 401;
     public static final int CONFIGURATION_TYPE_LOCAL = 200;
     public static final int CONFIGURATION_TYPE_PROVIDER = 201;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    public static final int MAX_READ_CONNECTION_POOL_SIZE = 8;
+    public static final int MAX_STATEMENT_CACHE_SIZE = 100;
     private int databaseType;
     private boolean detectDelete;
     private String path;
+    private int readConnectionPoolSize;
+    private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
     private int storageMode;
     private boolean throwException;
     private int type;
@@ -135,6 +140,28 @@ public class Configuration {
         this.detectDelete = detectDelete;
     }
 
+    public int getStatementCacheSize() {
+        return this.statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize <= 0 || statementCacheSize > MAX_STATEMENT_CACHE_SIZE) {
+            throw new ODMFIllegalArgumentException("The statement cache size should be in (0, 100].");
+        }
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public int getReadConnectionPoolSize() {
+        return this.readConnectionPoolSize;
+    }
+
+    public void setReadConnectionPoolSize(int readConnectionPoolSize) {
+        if (readConnectionPoolSize < 0 || readConnectionPoolSize > MAX_READ_CONNECTION_POOL_SIZE) {
+            throw new ODMFIllegalArgumentException("The read connection pool size should be in [0, 8].");
+        }
+        this.readConnectionPoolSize = readConnectionPoolSize;
+    }
+
     public String toString() {
         return "Configuration {Path :" + this.path + ", Mode:" + modeToString(this.storageMode) + ", Type:" + typeToString(this.type) + ", DatabaseType:" + databaseTypeToString(this.databaseType) + "}";
     }
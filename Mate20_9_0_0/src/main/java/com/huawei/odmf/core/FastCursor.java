@@ -21,7 +21,7 @@ final class FastCursor implements Cursor {
     }
 
     public int getCount() {
-        return this.window.getNumRows();
+        return this.count;
     }
 
     public int getPosition() {
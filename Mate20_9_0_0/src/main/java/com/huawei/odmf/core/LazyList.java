@@ -17,16 +17,25 @@ import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 public class LazyList<E> implements List<E> {
+    public static final int DEFAULT_PREFETCH_WINDOW = 50;
+    private static final int SEQUENTIAL_SCAN_THRESHOLD = 2;
     private int arraySize;
     private ManagedObject baseObj;
     private String entityName;
+    private int lastAccessIndex;
     private List<E> lazyInsertList;
     private List<E> lazyRemoveList;
     private int listSize;
     private transient int modCount;
     private AObjectContext objectContext;
     private List<ObjectId> objectIDList;
+    private ManagedObject[] prefetchBuffer;
+    private int prefetchCount;
+    private int prefetchModCount;
+    private int prefetchStart;
+    private int prefetchWindow;
     private int relationshipIndex;
+    private int sequentialCount;
 
     private class LazyIterator implements Iterator<E> {
         int cursor;
@@ -157,6 +166,8 @@ public class LazyList<E> implements List<E> {
         this.modCount = 0;
         this.baseObj = null;
         this.relationshipIndex = -1;
+        this.prefetchWindow = DEFAULT_PREFETCH_WINDOW;
+        this.lastAccessIndex = -1;
         if (objectContext == null || objectIDList == null || entityName == null) {
             throw new ODMFIllegalArgumentException("When new LazyList, at least one parameter is null");
         }
@@ -179,13 +190,88 @@ public class LazyList<E> implements List<E> {
         this.relationshipIndex = relationshipIndex;
     }
 
+    public int getPrefetchWindow() {
+        return this.prefetchWindow;
+    }
+
+    public void setPrefetchWindow(int prefetchWindow) {
+        if (prefetchWindow < 0) {
+            throw new ODMFIllegalArgumentException("prefetchWindow < 0");
+        }
+        this.prefetchWindow = prefetchWindow;
+        clearPrefetch();
+    }
+
     public E get(int index) {
         if (index >= 0 && index < this.listSize) {
-            return getObject((ObjectId) this.objectIDList.get(index));
+            return getWithPrefetch(index);
         }
         throw new IndexOutOfBoundsException("index < 0 || index >= listSize");
     }
 
+    private E getWithPrefetch(int index) {
+        int step = index - this.lastAccessIndex;
+        this.lastAccessIndex = index;
+        if (step != 1 && step != -1) {
+            this.sequentialCount = 0;
+        } else if (this.sequentialCount < SEQUENTIAL_SCAN_THRESHOLD) {
+            this.sequentialCount++;
+        }
+        ManagedObject object = takePrefetched(index);
+        if (object != null) {
+            return (E) object;
+        }
+        if (this.prefetchWindow <= 1 || this.sequentialCount < SEQUENTIAL_SCAN_THRESHOLD) {
+            return (E) getObject((ObjectId) this.objectIDList.get(index));
+        }
+        int from;
+        int to;
+        if (step > 0) {
+            from = index;
+            to = Math.min(this.listSize, index + this.prefetchWindow);
+        } else {
+            from = Math.max(0, (index + 1) - this.prefetchWindow);
+            to = index + 1;
+        }
+        List<ManagedObject> objects = this.objectContext.getObjects(new ArrayList(this.objectIDList.subList(from, to)));
+        int count = objects.size();
+        if (this.prefetchBuffer == null || this.prefetchBuffer.length < count) {
+            this.prefetchBuffer = new ManagedObject[count];
+        }
+        for (int i = 0; i < count; i++) {
+            this.prefetchBuffer[i] = (ManagedObject) objects.get(i);
+        }
+        this.prefetchStart = from;
+        this.prefetchCount = count;
+        this.prefetchModCount = this.modCount;
+        object = takePrefetched(index);
+        if (object != null) {
+            return (E) object;
+        }
+        return (E) getObject((ObjectId) this.objectIDList.get(index));
+    }
+
+    private ManagedObject takePrefetched(int index) {
+        if (this.prefetchCount == 0 || this.prefetchModCount != this.modCount || index < this.prefetchStart || index >= this.prefetchStart + this.prefetchCount) {
+            return null;
+        }
+        int slot = index - this.prefetchStart;
+        ManagedObject object = this.prefetchBuffer[slot];
+        this.prefetchBuffer[slot] = null;
+        return object;
+    }
+
+    private void clearPrefetch() {
+        if (this.prefetchBuffer != null) {
+            for (int i = 0; i < this.prefetchCount; i++) {
+                this.prefetchBuffer[i] = null;
+            }
+        }
+        this.prefetchCount = 0;
+        this.sequentialCount = 0;
+        this.lastAccessIndex = -1;
+    }
+
     public int size() {
         return this.listSize;
     }
@@ -371,6 +457,7 @@ public class LazyList<E> implements List<E> {
         }
         checkValue(o);
         ObjectId id = (ObjectId) this.objectIDList.set(index, ((ManagedObject) o).getObjectId());
+        clearPrefetch();
         addUpdate();
         E object = getObject(id);
         insertRemove(object);
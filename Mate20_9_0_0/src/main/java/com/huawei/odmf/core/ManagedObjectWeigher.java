@@ -0,0 +1,150 @@
+package com.huawei.odmf.core;
+
+import com.huawei.odmf.database.Statement;
+import com.huawei.odmf.exception.ODMFIllegalStateException;
+import com.huawei.odmf.exception.ODMFUnsupportedOperationException;
+import com.huawei.odmf.model.AEntityHelper;
+import com.huawei.odmf.model.api.Attribute;
+import com.huawei.odmf.model.api.Entity;
+import com.huawei.odmf.utils.ConcurrentODMFCache.Weigher;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+class ManagedObjectWeigher implements Weigher<ObjectId, ManagedObject> {
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int OBJECT_HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int ROW_OVERHEAD_SIZE = 64;
+    private final ConcurrentHashMap<String, Integer> entitySizes = new ConcurrentHashMap();
+
+    private static final class SizingStatement implements Statement {
+        private int size;
+
+        private SizingStatement() {
+        }
+
+        public void bindBlob(int i, byte[] bArr) {
+            if (bArr != null) {
+                this.size += ManagedObjectWeigher.ARRAY_HEADER_SIZE + bArr.length;
+            }
+        }
+
+        public void bindDouble(int i, double d) {
+        }
+
+        public void bindLong(int i, long j) {
+        }
+
+        public void bindNull(int i) {
+        }
+
+        public void bindString(int i, String str) {
+            if (str != null) {
+                this.size += (ManagedObjectWeigher.OBJECT_HEADER_SIZE + ManagedObjectWeigher.ARRAY_HEADER_SIZE) + (str.length() * 2);
+            }
+        }
+
+        public void clearBindings() {
+            this.size = 0;
+        }
+
+        public void close() {
+        }
+
+        public void execute() {
+            throw new ODMFUnsupportedOperationException();
+        }
+
+        public long executeInsert() {
+            throw new ODMFUnsupportedOperationException();
+        }
+
+        public void executeUpdateDelete() {
+            throw new ODMFUnsupportedOperationException();
+        }
+
+        public long simpleQueryForLong() {
+            throw new ODMFUnsupportedOperationException();
+        }
+
+        public String simpleQueryForString() {
+            throw new ODMFUnsupportedOperationException();
+        }
+    }
+
+    ManagedObjectWeigher() {
+    }
+
+    public int weigh(ObjectId objectId, ManagedObject managedObject) {
+        if (!(managedObject instanceof AManagedObject)) {
+            return ROW_OVERHEAD_SIZE;
+        }
+        try {
+            AEntityHelper helper = ((AManagedObject) managedObject).getHelper();
+            if (helper == null) {
+                return ROW_OVERHEAD_SIZE;
+            }
+            String entityName = managedObject.getEntityName();
+            Integer fixedSize = (Integer) this.entitySizes.get(entityName);
+            if (fixedSize == null) {
+                fixedSize = Integer.valueOf(estimateFixedSize(helper, helper.getEntity()));
+                this.entitySizes.put(entityName, fixedSize);
+            }
+            SizingStatement statement = new SizingStatement();
+            helper.bindValue(statement, managedObject);
+            return fixedSize.intValue() + statement.size;
+        } catch (ODMFIllegalStateException e) {
+            return ROW_OVERHEAD_SIZE;
+        } catch (RuntimeException e2) {
+            return ROW_OVERHEAD_SIZE;
+        }
+    }
+
+    private static int estimateFixedSize(AEntityHelper helper, Entity entity) {
+        if (entity == null) {
+            return ROW_OVERHEAD_SIZE;
+        }
+        int size = ROW_OVERHEAD_SIZE;
+        List<? extends Attribute> attributes = entity.getAttributes();
+        if (attributes != null) {
+            for (Attribute attribute : attributes) {
+                size += sizeOfType(attribute.getType());
+            }
+        }
+        return size + (helper.getNumberOfRelationships() * REFERENCE_SIZE);
+    }
+
+    private static int sizeOfType(int type) {
+        switch (type) {
+            case 0:
+            case 3:
+            case 4:
+            case 8:
+            case 11:
+            case 14:
+                return OBJECT_HEADER_SIZE + REFERENCE_SIZE;
+            case 1:
+            case 5:
+                return (OBJECT_HEADER_SIZE + REFERENCE_SIZE) + 4;
+            case 9:
+            case 10:
+            case 12:
+            case 13:
+                return (OBJECT_HEADER_SIZE * 2) + REFERENCE_SIZE;
+            case 15:
+            case 18:
+                return 4;
+            case 16:
+            case 19:
+                return 8;
+            case 17:
+            case 22:
+                return 2;
+            case 20:
+            case 21:
+                return 1;
+            default:
+                return REFERENCE_SIZE;
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package com.huawei.odmf.core;
 
+import android.os.SystemClock;
 import android.util.ArrayMap;
+import com.huawei.odmf.exception.ODMFIllegalArgumentException;
 import com.huawei.odmf.predicate.SaveRequest;
 import com.huawei.odmf.user.api.AllChangeToTarget;
 import com.huawei.odmf.user.api.ObjectContext;
 import com.huawei.odmf.utils.LOG;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
 
 class NotifyManager {
+    private static final int DEFAULT_MAX_BATCH_OBJECTS = 2000;
+    private long coalesceWindowMillis = 0;
+    private final AtomicLong coalescedMessageCount = new AtomicLong();
+    private final AtomicLong deliveredBatchCount = new AtomicLong();
+    private int maxBatchObjects = DEFAULT_MAX_BATCH_OBJECTS;
+    private final AtomicLong maxDeliveryLatency = new AtomicLong();
     private HandleMessageThread messageThread = new HandleMessageThread();
     private final Queue<MessageNode> messagesQueue = new LinkedList();
+    private final AtomicLong totalDeliveryLatency = new AtomicLong();
 
     private class HandleMessageThread extends Thread {
         private HandleMessageThread() {
@@ -21,28 +33,18 @@ class NotifyManager {
 
         public void run() {
             while (true) {
-                MessageNode node;
-                synchronized (NotifyManager.this.messagesQueue) {
-                    while (NotifyManager.this.messagesQueue.isEmpty()) {
-                        try {
-                            NotifyManager.this.messagesQueue.wait();
-                        } catch (InterruptedException e) {
-                            LOG.logW("The message handle thread interrupted by another thread.");
-                        }
-                    }
-                    node = (MessageNode) NotifyManager.this.messagesQueue.poll();
-                }
+                MessageNode node = NotifyManager.this.takeMessage();
                 if (node != null) {
                     try {
                         if (node.isClearEntityMsg()) {
                             NotifyManager.this.sendMessageToObjectContext(node.getChangeContext(), node.getEntityName(), node.getPsUri(), node.getNotifyTarget());
-                            node.releaseReferences();
                         } else {
                             NotifyManager.this.sendMessageToObjectContext(new AllChangeToThread(node.getInsertedObjects(), node.getUpdatedObjects(), node.getDeletedObjects(), node.getChangeContext(), node.getPsUri()), node.getNotifyTarget());
-                            node.releaseReferences();
                         }
-                    } catch (RuntimeException e2) {
-                        LOG.logE("A RuntimeException occurred during send message : " + e2.getMessage());
+                        NotifyManager.this.recordDelivery(node);
+                        node.releaseReferences();
+                    } catch (RuntimeException e) {
+                        LOG.logE("A RuntimeException occurred during send message : " + e.getMessage());
                     }
                 }
             }
@@ -52,6 +54,7 @@ class NotifyManager {
     private static class MessageNode {
         private ObjectContext changeContext;
         private List<ManagedObject> deletedObjects = new ArrayList();
+        private final long enqueueTime = SystemClock.elapsedRealtime();
         private String entityName;
         private List<ManagedObject> insertedObjects = new ArrayList();
         private boolean isClearEntityMsg = false;
@@ -76,6 +79,68 @@ class NotifyManager {
             this.notifyTarget = notifyTarget;
         }
 
+        long getEnqueueTime() {
+            return this.enqueueTime;
+        }
+
+        int getObjectCount() {
+            return (this.insertedObjects.size() + this.updatedObjects.size()) + this.deletedObjects.size();
+        }
+
+        boolean canMergeWith(MessageNode other) {
+            if (this.isClearEntityMsg || other.isClearEntityMsg || this.changeContext != other.changeContext) {
+                return false;
+            }
+            if (this.psUri == null) {
+                if (other.psUri != null) {
+                    return false;
+                }
+            } else if (!this.psUri.equals(other.psUri)) {
+                return false;
+            }
+            return this.notifyTarget.equals(other.notifyTarget);
+        }
+
+        void merge(MessageNode other) {
+            Map<ObjectId, ManagedObject> inserted = toMap(this.insertedObjects);
+            Map<ObjectId, ManagedObject> updated = toMap(this.updatedObjects);
+            Map<ObjectId, ManagedObject> deleted = toMap(this.deletedObjects);
+            for (ManagedObject object : other.insertedObjects) {
+                ObjectId id = object.getObjectId();
+                if (deleted.remove(id) != null) {
+                    updated.put(id, object);
+                } else {
+                    inserted.put(id, object);
+                }
+            }
+            for (ManagedObject object2 : other.updatedObjects) {
+                ObjectId id2 = object2.getObjectId();
+                if (inserted.containsKey(id2)) {
+                    inserted.put(id2, object2);
+                } else {
+                    updated.put(id2, object2);
+                }
+            }
+            for (ManagedObject object3 : other.deletedObjects) {
+                ObjectId id3 = object3.getObjectId();
+                if (inserted.remove(id3) == null) {
+                    updated.remove(id3);
+                    deleted.put(id3, object3);
+                }
+            }
+            this.insertedObjects = new ArrayList(inserted.values());
+            this.updatedObjects = new ArrayList(updated.values());
+            this.deletedObjects = new ArrayList(deleted.values());
+        }
+
+        private static Map<ObjectId, ManagedObject> toMap(List<ManagedObject> objects) {
+            Map<ObjectId, ManagedObject> map = new LinkedHashMap();
+            for (ManagedObject object : objects) {
+                map.put(object.getObjectId(), object);
+            }
+            return map;
+        }
+
         public List<ManagedObject> getInsertedObjects() {
             return this.insertedObjects;
         }
@@ -127,6 +192,93 @@ class NotifyManager {
         this.messageThread.start();
     }
 
+    void setCoalescing(long windowMillis, int maxBatchObjects) {
+        if (windowMillis < 0 || maxBatchObjects <= 0) {
+            throw new ODMFIllegalArgumentException("windowMillis < 0 || maxBatchObjects <= 0");
+        }
+        synchronized (this.messagesQueue) {
+            this.coalesceWindowMillis = windowMillis;
+            this.maxBatchObjects = maxBatchObjects;
+        }
+    }
+
+    int getQueueDepth() {
+        int size;
+        synchronized (this.messagesQueue) {
+            size = this.messagesQueue.size();
+        }
+        return size;
+    }
+
+    long getDeliveredBatchCount() {
+        return this.deliveredBatchCount.get();
+    }
+
+    long getCoalescedMessageCount() {
+        return this.coalescedMessageCount.get();
+    }
+
+    long getAverageDeliveryLatency() {
+        long batches = this.deliveredBatchCount.get();
+        return batches != 0 ? this.totalDeliveryLatency.get() / batches : 0;
+    }
+
+    long getMaxDeliveryLatency() {
+        return this.maxDeliveryLatency.get();
+    }
+
+    private MessageNode takeMessage() {
+        MessageNode node;
+        synchronized (this.messagesQueue) {
+            while (this.messagesQueue.isEmpty()) {
+                try {
+                    this.messagesQueue.wait();
+                } catch (InterruptedException e) {
+                    LOG.logW("The message handle thread interrupted by another thread.");
+                }
+            }
+            node = (MessageNode) this.messagesQueue.poll();
+            if (!node.isClearEntityMsg()) {
+                long deadline = node.getEnqueueTime() + this.coalesceWindowMillis;
+                while (node.getObjectCount() < this.maxBatchObjects) {
+                    MessageNode next = (MessageNode) this.messagesQueue.peek();
+                    if (next == null) {
+                        long remaining = deadline - SystemClock.elapsedRealtime();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        try {
+                            this.messagesQueue.wait(remaining);
+                        } catch (InterruptedException e2) {
+                            LOG.logW("The message handle thread interrupted by another thread.");
+                        }
+                    } else if (!node.canMergeWith(next) || node.getObjectCount() + next.getObjectCount() > this.maxBatchObjects) {
+                        break;
+                    } else {
+                        this.messagesQueue.poll();
+                        node.merge(next);
+                        next.releaseReferences();
+                        this.coalescedMessageCount.incrementAndGet();
+                    }
+                }
+            }
+        }
+        return node;
+    }
+
+    private void recordDelivery(MessageNode node) {
+        long latency = SystemClock.elapsedRealtime() - node.getEnqueueTime();
+        this.deliveredBatchCount.incrementAndGet();
+        this.totalDeliveryLatency.addAndGet(latency);
+        long max;
+        do {
+            max = this.maxDeliveryLatency.get();
+            if (latency <= max) {
+                return;
+            }
+        } while (!this.maxDeliveryLatency.compareAndSet(max, latency));
+    }
+
     public List<ObjectContext> hasListeners(String uriString) {
         List<ObjectContext> notifyTarget = new ArrayList();
         for (Entry<ObjectContext, PersistentStore> entry : PersistentStoreCoordinator.getDefault().getMapContextToPersistentStore().entrySet()) {
@@ -13,6 +13,7 @@ import com.huawei.odmf.predicate.FetchRequest;
 import com.huawei.odmf.predicate.SaveRequest;
 import com.huawei.odmf.user.api.ObjectContext;
 import com.huawei.odmf.utils.LOG;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -163,6 +164,14 @@ public class PersistentStore {
         throw new ODMFUnsupportedOperationException("The persistentStore not support the method getObjectValues ");
     }
 
+    protected List<ManagedObject> getObjectsValues(List<ObjectId> objectIds) {
+        List<ManagedObject> results = new ArrayList(objectIds.size());
+        for (ObjectId objectId : objectIds) {
+            results.add(getObjectValues(objectId));
+        }
+        return results;
+    }
+
     protected List<ObjectId> getRelationshipObjectId(ObjectId objectId, Relationship relationship) {
         throw new ODMFUnsupportedOperationException("The persistentStore not support the method getRelationshipObjectId ");
     }
@@ -10,6 +10,8 @@ import com.huawei.odmf.model.api.Attribute;
 import com.huawei.odmf.predicate.FetchRequest;
 import com.huawei.odmf.predicate.SaveRequest;
 import com.huawei.odmf.user.api.ObjectContext;
+import com.huawei.odmf.utils.Cache;
+import com.huawei.odmf.utils.ConcurrentODMFCache;
 import com.huawei.odmf.utils.LOG;
 import com.huawei.odmf.utils.ODMFCache;
 import com.huawei.odmf.utils.Singleton;
@@ -32,7 +34,7 @@ public final class PersistentStoreCoordinator {
     private final ConcurrentHashMap<ObjectContext, PersistentStore> mapContextToPersistentStore;
     private final ConcurrentHashMap<String, PersistentStore> mapUriToPersistentStore;
     private NotifyManager notifyManager;
-    private ODMFCache<ObjectId, ManagedObject> objectsCache;
+    private volatile Cache<ObjectId, ManagedObject> objectsCache;
     private final Object persistentStoreLock;
 
     /* synthetic */ PersistentStoreCoordinator(AnonymousClass1 x0) {
@@ -55,7 +57,7 @@ public final class PersistentStoreCoordinator {
         this.cacheLock = new Object();
         CacheConfig cacheConfig = CacheConfig.getDefault();
         if (cacheConfig.isOpenObjectCache()) {
-            this.objectsCache = new ODMFCache(cacheConfig.getObjectCacheNum());
+            this.objectsCache = newObjectsCache(cacheConfig);
         }
         this.notifyManager = new NotifyManager();
     }
@@ -345,6 +347,68 @@ public final class PersistentStoreCoordinator {
         return object;
     }
 
+    List<ManagedObject> getObjectsValues(List<ObjectId> objectIDs, ObjectContext objectContext) {
+        int size = objectIDs.size();
+        List<ManagedObject> results = new ArrayList(size);
+        List<ObjectId> missedIDs = new ArrayList();
+        PersistentStore ps = getPersistentStore(objectContext);
+        for (ObjectId objectID : objectIDs) {
+            ManagedObject cacheObject = objectID != null ? getObjectFromCache(objectID) : null;
+            if (cacheObject == null || (cacheObject.isDirty() && cacheObject.getLastObjectContext() != objectContext)) {
+                results.add(null);
+                if (objectID != null) {
+                    if (!objectID.getUriString().equals(ps.getUriString())) {
+                        objectID.setUriString(ps.getUriString());
+                    }
+                    missedIDs.add(objectID);
+                }
+            } else {
+                results.add(cacheObject);
+            }
+        }
+        if (missedIDs.isEmpty()) {
+            return results;
+        }
+        List<ManagedObject> loaded = ps.getObjectsValues(missedIDs);
+        int loadedIndex = 0;
+        for (int i = 0; i < size; i++) {
+            if (results.get(i) == null && objectIDs.get(i) != null) {
+                ManagedObject object = (ManagedObject) loaded.get(loadedIndex);
+                loadedIndex++;
+                if (object != null) {
+                    object.setState(4);
+                    object.setObjectContext(objectContext);
+                    results.set(i, object);
+                }
+            }
+        }
+        return results;
+    }
+
+    public void setNotificationCoalescing(long windowMillis, int maxBatchObjects) {
+        this.notifyManager.setCoalescing(windowMillis, maxBatchObjects);
+    }
+
+    public int getNotificationQueueDepth() {
+        return this.notifyManager.getQueueDepth();
+    }
+
+    public long getNotificationDeliveredBatchCount() {
+        return this.notifyManager.getDeliveredBatchCount();
+    }
+
+    public long getNotificationCoalescedMessageCount() {
+        return this.notifyManager.getCoalescedMessageCount();
+    }
+
+    public long getNotificationAverageLatency() {
+        return this.notifyManager.getAverageDeliveryLatency();
+    }
+
+    public long getNotificationMaxLatency() {
+        return this.notifyManager.getMaxDeliveryLatency();
+    }
+
     protected void beginTransaction(ObjectContext context) {
         getPersistentStore(context).beginTransaction();
     }
@@ -430,10 +494,26 @@ public final class PersistentStoreCoordinator {
         return getPersistentStore(objectContext).query(distinct, table, columns, selection, selectionArgs, groupBy, having, orderBy, limit);
     }
 
-    ODMFCache<ObjectId, ManagedObject> getObjectsCache() {
+    Cache<ObjectId, ManagedObject> getObjectsCache() {
         return this.objectsCache;
     }
 
+    private static Cache<ObjectId, ManagedObject> newObjectsCache(CacheConfig cacheConfig) {
+        if (cacheConfig.getObjectCacheType() == CacheConfig.CACHE_TYPE_CONCURRENT) {
+            return new ConcurrentODMFCache(cacheConfig.getObjectCacheMaxWeight(), cacheConfig.getObjectCacheConcurrencyLevel(), new ManagedObjectWeigher());
+        }
+        return new ODMFCache(cacheConfig.getObjectCacheNum());
+    }
+
+    void recreateObjectsCache() {
+        synchronized (this.cacheLock) {
+            if (this.objectsCache != null) {
+                this.objectsCache.clear();
+            }
+            this.objectsCache = newObjectsCache(CacheConfig.getDefault());
+        }
+    }
+
     /* JADX WARNING: Missing block: B:14:?, code:
             return;
      */
@@ -445,7 +525,7 @@ public final class PersistentStoreCoordinator {
             }
             CacheConfig cacheConfig = CacheConfig.getDefault();
             if (cacheConfig.isOpenObjectCache()) {
-                this.objectsCache = new ODMFCache(cacheConfig.getObjectCacheNum());
+                this.objectsCache = newObjectsCache(cacheConfig);
             }
         }
     }
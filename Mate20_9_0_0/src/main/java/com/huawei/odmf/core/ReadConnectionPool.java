@@ -0,0 +1,82 @@
+package com.huawei.odmf.core;
+
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import com.huawei.odmf.database.AndroidSQLiteDatabase;
+import com.huawei.odmf.database.DataBase;
+import com.huawei.odmf.utils.LOG;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ReadConnectionPool {
+    private final AtomicInteger next = new AtomicInteger();
+    private final DataBase[] readers;
+    private final StatementPool[] statementPools;
+
+    private ReadConnectionPool(DataBase[] readers, int statementCacheSize) {
+        this.readers = readers;
+        this.statementPools = new StatementPool[readers.length];
+        for (int i = 0; i < readers.length; i++) {
+            this.statementPools[i] = new StatementPool(readers[i], statementCacheSize);
+        }
+    }
+
+    static ReadConnectionPool open(String path, int size, int statementCacheSize) {
+        if (path == null || size <= 0) {
+            return null;
+        }
+        DataBase[] readers = new DataBase[size];
+        int i = 0;
+        while (i < size) {
+            try {
+                SQLiteDatabase reader = SQLiteDatabase.openDatabase(path, null, SQLiteDatabase.OPEN_READONLY | SQLiteDatabase.ENABLE_WRITE_AHEAD_LOGGING);
+                reader.setMaxSqlCacheSize(statementCacheSize);
+                readers[i] = new AndroidSQLiteDatabase(reader);
+                i++;
+            } catch (SQLException e) {
+                LOG.logW("Open read connection failed, reads will use the write connection : " + e.getMessage());
+                for (int j = 0; j < i; j++) {
+                    readers[j].close();
+                }
+                return null;
+            }
+        }
+        return new ReadConnectionPool(readers, statementCacheSize);
+    }
+
+    DataBase select(DataBase writer) {
+        int index = selectIndex(writer);
+        return index >= 0 ? this.readers[index] : writer;
+    }
+
+    StatementPool selectStatementPool(DataBase writer) {
+        int index = selectIndex(writer);
+        return index >= 0 ? this.statementPools[index] : null;
+    }
+
+    StatementPool[] getStatementPools() {
+        return this.statementPools;
+    }
+
+    private int selectIndex(DataBase writer) {
+        if (writer.inTransaction()) {
+            return -1;
+        }
+        int index = (this.next.getAndIncrement() & Integer.MAX_VALUE) % this.readers.length;
+        return this.readers[index].isOpen() ? index : -1;
+    }
+
+    int size() {
+        return this.readers.length;
+    }
+
+    void close() {
+        for (StatementPool statementPool : this.statementPools) {
+            statementPool.clear();
+        }
+        for (DataBase reader : this.readers) {
+            if (reader.isOpen()) {
+                reader.close();
+            }
+        }
+    }
+}
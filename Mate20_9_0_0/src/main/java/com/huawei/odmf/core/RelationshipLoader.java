@@ -28,11 +28,13 @@ class RelationshipLoader {
     private ObjectModel model;
     private List<LazyList<ManagedObject>> needClearLazyListModify = new ArrayList();
     private List<ODMFList<ManagedObject>> needClearODMFListModify = new ArrayList();
+    private StatementPool statementPool;
 
-    RelationshipLoader(DataBase db, ObjectModel model, Map<String, AEntityHelper> helperMap) {
+    RelationshipLoader(DataBase db, ObjectModel model, Map<String, AEntityHelper> helperMap, StatementPool statementPool) {
         this.db = db;
         this.model = model;
         this.helperMap = helperMap;
+        this.statementPool = statementPool;
     }
 
     void handleRelationship(Collection<ManagedObject> manageObjects) {
@@ -349,7 +351,7 @@ class RelationshipLoader {
         ManagedObject managedObject = null;
         Cursor cursor = null;
         try {
-            cursor = DatabaseQueryService.query(this.db, relatedEntity.getTableName(), new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + DatabaseQueryService.getRowidColumnName(), "*"}, DatabaseQueryService.getRowidColumnName() + "=?", new String[]{String.valueOf(relatedId)});
+            cursor = this.statementPool.query(relatedEntity.getTableName(), new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + DatabaseQueryService.getRowidColumnName(), "*"}, DatabaseQueryService.getRowidColumnName() + "=?", new String[]{String.valueOf(relatedId)});
             if (cursor.moveToNext()) {
                 managedObject = (ManagedObject) entityHelper.readObject(cursor, 0);
                 managedObject.setObjectId(new AObjectId(relatedEntity.getEntityName(), relatedId));
@@ -607,7 +609,7 @@ class RelationshipLoader {
     Cursor getManyToOneRelationshipCursor(ObjectId objectID, Relationship relationship) {
         Entity baseEntity = relationship.getBaseEntity();
         String fieldName = relationship.getFieldName();
-        return DatabaseQueryService.query(this.db, baseEntity.getTableName(), new String[]{fieldName}, DatabaseQueryService.getRowidColumnName() + " = " + objectID.getId(), null);
+        return this.statementPool.query(baseEntity.getTableName(), new String[]{fieldName}, DatabaseQueryService.getRowidColumnName() + " = ?", new String[]{String.valueOf(objectID.getId())});
     }
 
     Cursor getOneToOneRelationshipCursor(ObjectId objectID, Relationship relationship) {
@@ -619,11 +621,11 @@ class RelationshipLoader {
         } else {
             fieldName = relationship.getInverseRelationship().getFieldName();
         }
-        return DatabaseQueryService.query(this.db, relationship.isMajor() ? baseEntity.getTableName() : relatedEntity.getTableName(), relationship.isMajor() ? new String[]{fieldName + " AS " + fieldName} : new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + fieldName}, relationship.isMajor() ? DatabaseQueryService.getRowidColumnName() + " = ?" : fieldName + " = ? ", new String[]{"" + objectID.getId()});
+        return this.statementPool.query(relationship.isMajor() ? baseEntity.getTableName() : relatedEntity.getTableName(), relationship.isMajor() ? new String[]{fieldName + " AS " + fieldName} : new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + fieldName}, relationship.isMajor() ? DatabaseQueryService.getRowidColumnName() + " = ?" : fieldName + " = ? ", new String[]{"" + objectID.getId()});
     }
 
     Cursor getOneToManyRelationshipCursor(ObjectId objectID, Relationship relationship) {
-        Cursor cursor = DatabaseQueryService.query(this.db, relationship.getRelatedEntity().getTableName(), new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + DatabaseQueryService.getRowidColumnName()}, relationship.getInverseRelationship().getFieldName() + " = ?", new String[]{String.valueOf(objectID.getId())});
+        Cursor cursor = this.statementPool.query(relationship.getRelatedEntity().getTableName(), new String[]{DatabaseQueryService.getRowidColumnName() + " AS " + DatabaseQueryService.getRowidColumnName()}, relationship.getInverseRelationship().getFieldName() + " = ?", new String[]{String.valueOf(objectID.getId())});
         if (!relationship.getNotFound().equals(ARelationship.EXCEPTION) || cursor == null || cursor.getCount() > 0) {
             return cursor;
         }
@@ -634,7 +636,7 @@ class RelationshipLoader {
     Cursor getManyToManyRelationshipCursor(ObjectId objectID, Relationship relationship) {
         Entity relatedEntity = relationship.getRelatedEntity();
         Entity baseEntity = relationship.getBaseEntity();
-        Cursor cursor = DatabaseQueryService.query(this.db, baseEntity.getTableName() + " AS t1," + DatabaseTableHelper.getManyToManyMidTableName(relationship) + " AS t2", new String[]{"t2." + DatabaseTableHelper.getRelationshipColumnName(relatedEntity)}, "t1." + DatabaseQueryService.getRowidColumnName() + " = " + objectID.getId() + " AND " + "t1" + "." + DatabaseQueryService.getRowidColumnName() + " = t2." + DatabaseTableHelper.getRelationshipColumnName(baseEntity), null);
+        Cursor cursor = this.statementPool.query(baseEntity.getTableName() + " AS t1," + DatabaseTableHelper.getManyToManyMidTableName(relationship) + " AS t2", new String[]{"t2." + DatabaseTableHelper.getRelationshipColumnName(relatedEntity)}, "t1." + DatabaseQueryService.getRowidColumnName() + " = ? AND " + "t1" + "." + DatabaseQueryService.getRowidColumnName() + " = t2." + DatabaseTableHelper.getRelationshipColumnName(baseEntity), new String[]{String.valueOf(objectID.getId())});
         if (!relationship.getNotFound().equals(ARelationship.EXCEPTION) || cursor == null || cursor.getCount() > 0) {
             return cursor;
         }
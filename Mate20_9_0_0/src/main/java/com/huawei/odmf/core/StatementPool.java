@@ -0,0 +1,268 @@
+package com.huawei.odmf.core;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteQueryBuilder;
+import com.huawei.odmf.database.DataBase;
+import com.huawei.odmf.database.Statement;
+import com.huawei.odmf.exception.ODMFIllegalArgumentException;
+import com.huawei.odmf.utils.LOG;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+class StatementPool {
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    private final DataBase db;
+    private final Object lock = new Object();
+    private final int maxSize;
+    private final LinkedHashMap<String, AtomicLong> queryCounts = new LinkedHashMap(DEFAULT_TABLE_SIZE, DEFAULT_LOAD_FACTOR, true);
+    private volatile ReadConnectionPool readConnectionPool;
+    private final LinkedHashMap<String, PooledStatement> statements = new LinkedHashMap(DEFAULT_TABLE_SIZE, DEFAULT_LOAD_FACTOR, true);
+
+    static final class PooledStatement {
+        private boolean evicted;
+        private final AtomicLong executionCount = new AtomicLong();
+        private final String sql;
+        private Statement statement;
+
+        PooledStatement(String sql) {
+            this.sql = sql;
+        }
+
+        String getSql() {
+            return this.sql;
+        }
+
+        long getExecutionCount() {
+            return this.executionCount.get();
+        }
+
+        private Statement obtain(DataBase db) {
+            if (this.statement == null) {
+                this.statement = db.compileStatement(this.sql);
+            }
+            this.executionCount.incrementAndGet();
+            return this.statement;
+        }
+
+        private void release() {
+            if (this.evicted) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (this.statement != null) {
+                this.statement.close();
+                this.statement = null;
+            }
+        }
+    }
+
+    StatementPool(DataBase db, int maxSize) {
+        if (db == null || maxSize <= 0) {
+            throw new ODMFIllegalArgumentException("Create StatementPool failed : db is null or maxSize <= 0.");
+        }
+        this.db = db;
+        this.maxSize = maxSize;
+    }
+
+    static String normalize(String sql) {
+        StringBuilder builder = new StringBuilder(sql.length());
+        boolean lastIsSpace = true;
+        int length = sql.length();
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(c);
+                lastIsSpace = false;
+            } else if (!lastIsSpace) {
+                builder.append(' ');
+                lastIsSpace = true;
+            }
+        }
+        int end = builder.length();
+        if (end > 0 && builder.charAt(end - 1) == ' ') {
+            builder.setLength(end - 1);
+        }
+        return builder.toString();
+    }
+
+    private PooledStatement acquire(String sql) {
+        PooledStatement pooled;
+        String key = normalize(sql);
+        synchronized (this.lock) {
+            pooled = (PooledStatement) this.statements.get(key);
+            if (pooled == null) {
+                pooled = new PooledStatement(key);
+                this.statements.put(key, pooled);
+                trimToSize();
+            }
+        }
+        return pooled;
+    }
+
+    private void trimToSize() {
+        Iterator<Entry<String, PooledStatement>> iterator = this.statements.entrySet().iterator();
+        while (this.statements.size() > this.maxSize && iterator.hasNext()) {
+            PooledStatement eldest = (PooledStatement) ((Entry) iterator.next()).getValue();
+            iterator.remove();
+            synchronized (eldest) {
+                eldest.evicted = true;
+                eldest.close();
+            }
+        }
+    }
+
+    String simpleQueryForString(String sql, String[] bindArgs) {
+        StatementPool readerPool = selectReaderPool();
+        if (readerPool != null) {
+            return readerPool.simpleQueryForString(sql, bindArgs);
+        }
+        String result;
+        PooledStatement pooled = acquire(sql);
+        synchronized (pooled) {
+            Statement statement = pooled.obtain(this.db);
+            try {
+                bindAllArgsAsStrings(statement, bindArgs);
+                result = statement.simpleQueryForString();
+            } finally {
+                statement.clearBindings();
+                pooled.release();
+            }
+        }
+        return result;
+    }
+
+    long simpleQueryForLong(String sql, String[] bindArgs) {
+        StatementPool readerPool = selectReaderPool();
+        if (readerPool != null) {
+            return readerPool.simpleQueryForLong(sql, bindArgs);
+        }
+        long result;
+        PooledStatement pooled = acquire(sql);
+        synchronized (pooled) {
+            Statement statement = pooled.obtain(this.db);
+            try {
+                bindAllArgsAsStrings(statement, bindArgs);
+                result = statement.simpleQueryForLong();
+            } finally {
+                statement.clearBindings();
+                pooled.release();
+            }
+        }
+        return result;
+    }
+
+    Cursor query(String table, String[] columns, String selection, String[] selectionArgs) {
+        recordExecution(SQLiteQueryBuilder.buildQueryString(false, table, columns, selection, null, null, null, null));
+        ReadConnectionPool pool = this.readConnectionPool;
+        return DatabaseQueryService.query(pool != null ? pool.select(this.db) : this.db, table, columns, selection, selectionArgs);
+    }
+
+    private StatementPool selectReaderPool() {
+        ReadConnectionPool pool = this.readConnectionPool;
+        return pool != null ? pool.selectStatementPool(this.db) : null;
+    }
+
+    void setReadConnectionPool(ReadConnectionPool readConnectionPool) {
+        this.readConnectionPool = readConnectionPool;
+    }
+
+    void recordExecution(String sql) {
+        String key = normalize(sql);
+        synchronized (this.lock) {
+            AtomicLong count = (AtomicLong) this.queryCounts.get(key);
+            if (count == null) {
+                count = new AtomicLong();
+                this.queryCounts.put(key, count);
+                Iterator<Entry<String, AtomicLong>> iterator = this.queryCounts.entrySet().iterator();
+                while (this.queryCounts.size() > this.maxSize && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            count.incrementAndGet();
+        }
+    }
+
+    long getExecutionCount(String sql) {
+        long count;
+        String key = normalize(sql);
+        synchronized (this.lock) {
+            PooledStatement pooled = (PooledStatement) this.statements.get(key);
+            AtomicLong queryCount = (AtomicLong) this.queryCounts.get(key);
+            count = (pooled != null ? pooled.getExecutionCount() : 0) + (queryCount != null ? queryCount.get() : 0);
+        }
+        ReadConnectionPool pool = this.readConnectionPool;
+        if (pool != null) {
+            for (StatementPool readerPool : pool.getStatementPools()) {
+                count += readerPool.getExecutionCount(sql);
+            }
+        }
+        return count;
+    }
+
+    Map<String, Long> getExecutionCounts() {
+        Map<String, Long> counts;
+        synchronized (this.lock) {
+            counts = new HashMap(this.statements.size() + this.queryCounts.size());
+            for (PooledStatement pooled : this.statements.values()) {
+                counts.put(pooled.getSql(), Long.valueOf(pooled.getExecutionCount()));
+            }
+            for (Entry<String, AtomicLong> entry : this.queryCounts.entrySet()) {
+                Long count = (Long) counts.get(entry.getKey());
+                counts.put(entry.getKey(), Long.valueOf((count != null ? count.longValue() : 0) + ((AtomicLong) entry.getValue()).get()));
+            }
+        }
+        ReadConnectionPool pool = this.readConnectionPool;
+        if (pool != null) {
+            for (StatementPool readerPool : pool.getStatementPools()) {
+                for (Entry<String, Long> entry2 : readerPool.getExecutionCounts().entrySet()) {
+                    Long count2 = (Long) counts.get(entry2.getKey());
+                    counts.put(entry2.getKey(), Long.valueOf((count2 != null ? count2.longValue() : 0) + ((Long) entry2.getValue()).longValue()));
+                }
+            }
+        }
+        return counts;
+    }
+
+    int size() {
+        int size;
+        synchronized (this.lock) {
+            size = this.statements.size();
+        }
+        return size;
+    }
+
+    void clear() {
+        synchronized (this.lock) {
+            for (PooledStatement pooled : this.statements.values()) {
+                synchronized (pooled) {
+                    pooled.evicted = true;
+                    pooled.close();
+                }
+            }
+            this.statements.clear();
+            this.queryCounts.clear();
+        }
+        this.readConnectionPool = null;
+        LOG.logD("StatementPool cleared.");
+    }
+
+    private static void bindAllArgsAsStrings(Statement statement, String[] bindArgs) {
+        if (bindArgs != null) {
+            for (int i = bindArgs.length; i != 0; i--) {
+                if (bindArgs[i - 1] == null) {
+                    statement.bindNull(i);
+                } else {
+                    statement.bindString(i, bindArgs[i - 1]);
+                }
+            }
+        }
+    }
+}
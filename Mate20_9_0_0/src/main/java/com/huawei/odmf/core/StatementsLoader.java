@@ -8,6 +8,10 @@ import com.huawei.odmf.utils.SqlUtil;
 import java.util.List;
 
 public class StatementsLoader {
+    private static final int SQLITE_MAX_COMPOUND_ROWS = 500;
+    private static final int SQLITE_MAX_VARIABLE_NUMBER = 999;
+    private int bulkInsertRowCount = 0;
+    private Statement bulkInsertSQLiteStatement = null;
     private Statement deleteSQLiteStatement = null;
     private Statement insertSQLiteStatement = null;
     private Statement updateSQLiteStatement = null;
@@ -22,6 +26,28 @@ public class StatementsLoader {
         return this.insertSQLiteStatement;
     }
 
+    static int getBulkInsertRowCount(int columnCount) {
+        if (columnCount <= 0) {
+            return 1;
+        }
+        return Math.max(1, Math.min(SQLITE_MAX_COMPOUND_ROWS, SQLITE_MAX_VARIABLE_NUMBER / columnCount));
+    }
+
+    Statement getBulkInsertStatement(DataBase db, String tableName, List<? extends Attribute> attributes) {
+        if (db == null || tableName == null || attributes == null) {
+            throw new ODMFIllegalArgumentException("Execute getBulkInsertStatement Failed : The input parameter has null.");
+        }
+        if (this.bulkInsertSQLiteStatement == null) {
+            this.bulkInsertRowCount = getBulkInsertRowCount(attributes.size());
+            this.bulkInsertSQLiteStatement = db.compileStatement(SqlUtil.createSqlMultiInsert(tableName, attributes, this.bulkInsertRowCount));
+        }
+        return this.bulkInsertSQLiteStatement;
+    }
+
+    int getBulkInsertRowCount() {
+        return this.bulkInsertRowCount;
+    }
+
     Statement getUpdateStatement(DataBase db, String tableName, List<? extends Attribute> attributes) {
         if (db == null || tableName == null || attributes == null) {
             throw new ODMFIllegalArgumentException("Execute getUpdateStatement Failed : The input parameter has null.");
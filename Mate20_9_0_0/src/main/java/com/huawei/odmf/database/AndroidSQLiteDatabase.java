@@ -151,6 +151,10 @@ public class AndroidSQLiteDatabase implements DataBase {
         return this.mSQLiteDatabase.getPath();
     }
 
+    public void setMaxSqlCacheSize(int cacheSize) {
+        this.mSQLiteDatabase.setMaxSqlCacheSize(cacheSize);
+    }
+
     public SQLiteDatabase getAndroidSQLiteDatabase() {
         return this.mSQLiteDatabase;
     }
@@ -29,6 +29,18 @@ public class AndroidSQLiteStatement implements Statement {
         this.mSQLiteStatement.executeUpdateDelete();
     }
 
+    public long simpleQueryForLong() {
+        return this.mSQLiteStatement.simpleQueryForLong();
+    }
+
+    public String simpleQueryForString() {
+        return this.mSQLiteStatement.simpleQueryForString();
+    }
+
+    public void close() {
+        this.mSQLiteStatement.close();
+    }
+
     public void bindNull(int index) {
         this.mSQLiteStatement.bindNull(index);
     }
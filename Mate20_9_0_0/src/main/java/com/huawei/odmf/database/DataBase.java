@@ -53,6 +53,8 @@ public interface DataBase {
 
     void resetDatabaseEncryptKey(byte[] bArr, byte[] bArr2);
 
+    void setMaxSqlCacheSize(int i);
+
     void setTransactionSuccessful();
 
     int update(String str, ContentValues contentValues, String str2, String[] strArr);
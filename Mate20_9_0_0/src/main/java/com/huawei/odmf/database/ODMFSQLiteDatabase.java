@@ -151,6 +151,10 @@ public class ODMFSQLiteDatabase implements DataBase {
         return this.mODMFDatabase.getPath();
     }
 
+    public void setMaxSqlCacheSize(int cacheSize) {
+        this.mODMFDatabase.setMaxSqlCacheSize(cacheSize);
+    }
+
     public android.database.sqlite.SQLiteDatabase getAndroidSQLiteDatabase() {
         return null;
     }
@@ -29,6 +29,18 @@ public class ODMFSQLiteStatement implements Statement {
         this.mODMFStatement.executeUpdateDelete();
     }
 
+    public long simpleQueryForLong() {
+        return this.mODMFStatement.simpleQueryForLong();
+    }
+
+    public String simpleQueryForString() {
+        return this.mODMFStatement.simpleQueryForString();
+    }
+
+    public void close() {
+        this.mODMFStatement.close();
+    }
+
     public void bindNull(int index) {
         this.mODMFStatement.bindNull(index);
     }
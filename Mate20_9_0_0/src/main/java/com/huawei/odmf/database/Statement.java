@@ -13,9 +13,15 @@ public interface Statement {
 
     void clearBindings();
 
+    void close();
+
     void execute();
 
     long executeInsert();
 
     void executeUpdateDelete();
+
+    long simpleQueryForLong();
+
+    String simpleQueryForString();
 }
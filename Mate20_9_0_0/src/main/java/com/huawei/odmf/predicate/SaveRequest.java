@@ -4,6 +4,7 @@ import com.huawei.odmf.core.ManagedObject;
 import java.util.List;
 
 public class SaveRequest {
+    private boolean bulkInsert = false;
     private List<ManagedObject> deletedObjects = null;
     private List<ManagedObject> insertedObjects = null;
     private List<ManagedObject> updatedObjects = null;
@@ -14,6 +15,11 @@ public class SaveRequest {
         this.deletedObjects = deletedObjects;
     }
 
+    public SaveRequest(List<ManagedObject> insertedObjects, List<ManagedObject> updatedObjects, List<ManagedObject> deletedObjects, boolean bulkInsert) {
+        this(insertedObjects, updatedObjects, deletedObjects);
+        this.bulkInsert = bulkInsert;
+    }
+
     public List<ManagedObject> getInsertedObjects() {
         return this.insertedObjects;
     }
@@ -34,6 +40,14 @@ public class SaveRequest {
         return this.deletedObjects;
     }
 
+    public boolean isBulkInsert() {
+        return this.bulkInsert;
+    }
+
+    public void setBulkInsert(boolean bulkInsert) {
+        this.bulkInsert = bulkInsert;
+    }
+
     public void setDeletedObjects(List<ManagedObject> deletedObjects) {
         this.deletedObjects = deletedObjects;
     }
@@ -0,0 +1,191 @@
+package com.huawei.odmf.utils;
+
+import com.huawei.odmf.database.Statement;
+import com.huawei.odmf.exception.ODMFIllegalArgumentException;
+import com.huawei.odmf.exception.ODMFUnsupportedOperationException;
+
+public class BindBuffer implements Statement {
+    private static final int TYPE_BLOB = 4;
+    private static final int TYPE_DOUBLE = 2;
+    private static final int TYPE_LONG = 1;
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_STRING = 3;
+    private int columnCount;
+    private double[] doubles = new double[0];
+    private long[] longs = new long[0];
+    private Object[] objects = new Object[0];
+    private int rowCount;
+    private int rowOffset;
+    private int[] types = new int[0];
+
+    public void reset(int columnCount, int rowCount) {
+        if (columnCount <= 0 || rowCount <= 0) {
+            throw new ODMFIllegalArgumentException("columnCount <= 0 || rowCount <= 0");
+        }
+        int size = columnCount * rowCount;
+        if (this.types.length < size) {
+            this.types = new int[size];
+            this.longs = new long[size];
+            this.doubles = new double[size];
+            this.objects = new Object[size];
+        } else {
+            clear(size);
+        }
+        this.columnCount = columnCount;
+        this.rowCount = rowCount;
+        this.rowOffset = 0;
+    }
+
+    public void setRow(int row) {
+        if (row < 0 || row >= this.rowCount) {
+            throw new ODMFIllegalArgumentException("row index out of range : " + row);
+        }
+        this.rowOffset = this.columnCount * row;
+    }
+
+    public int getColumnCount() {
+        return this.columnCount;
+    }
+
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    public boolean isNull(int row, int index) {
+        return this.types[position(row, index)] == TYPE_NULL;
+    }
+
+    public void bindTo(Statement statement, int rows) {
+        if (rows > this.rowCount) {
+            throw new ODMFIllegalArgumentException("rows > rowCount");
+        }
+        int size = this.columnCount * rows;
+        for (int i = 0; i < size; i++) {
+            int index = i + 1;
+            switch (this.types[i]) {
+                case TYPE_LONG /*1*/:
+                    statement.bindLong(index, this.longs[i]);
+                    break;
+                case TYPE_DOUBLE /*2*/:
+                    statement.bindDouble(index, this.doubles[i]);
+                    break;
+                case TYPE_STRING /*3*/:
+                    statement.bindString(index, (String) this.objects[i]);
+                    break;
+                case TYPE_BLOB /*4*/:
+                    statement.bindBlob(index, (byte[]) this.objects[i]);
+                    break;
+                default:
+                    statement.bindNull(index);
+                    break;
+            }
+        }
+    }
+
+    public void bindRowTo(Statement statement, int row) {
+        int offset = position(row, 1);
+        for (int i = 0; i < this.columnCount; i++) {
+            int index = i + 1;
+            int position = offset + i;
+            switch (this.types[position]) {
+                case TYPE_LONG /*1*/:
+                    statement.bindLong(index, this.longs[position]);
+                    break;
+                case TYPE_DOUBLE /*2*/:
+                    statement.bindDouble(index, this.doubles[position]);
+                    break;
+                case TYPE_STRING /*3*/:
+                    statement.bindString(index, (String) this.objects[position]);
+                    break;
+                case TYPE_BLOB /*4*/:
+                    statement.bindBlob(index, (byte[]) this.objects[position]);
+                    break;
+                default:
+                    statement.bindNull(index);
+                    break;
+            }
+        }
+    }
+
+    private int position(int row, int index) {
+        if (row >= 0 && row < this.rowCount && index > 0 && index <= this.columnCount) {
+            return (this.columnCount * row) + (index - 1);
+        }
+        throw new ODMFIllegalArgumentException("bind position out of range : row " + row + ", index " + index);
+    }
+
+    private int position(int index) {
+        if (index > 0 && index <= this.columnCount) {
+            return this.rowOffset + (index - 1);
+        }
+        throw new ODMFIllegalArgumentException("bind index out of range : " + index);
+    }
+
+    private void clear(int size) {
+        for (int i = 0; i < size; i++) {
+            this.types[i] = TYPE_NULL;
+            this.objects[i] = null;
+        }
+    }
+
+    public void bindBlob(int index, byte[] value) {
+        int position = position(index);
+        this.types[position] = TYPE_BLOB;
+        this.objects[position] = value;
+    }
+
+    public void bindDouble(int index, double value) {
+        int position = position(index);
+        this.types[position] = TYPE_DOUBLE;
+        this.doubles[position] = value;
+    }
+
+    public void bindLong(int index, long value) {
+        int position = position(index);
+        this.types[position] = TYPE_LONG;
+        this.longs[position] = value;
+    }
+
+    public void bindNull(int index) {
+        int position = position(index);
+        this.types[position] = TYPE_NULL;
+        this.objects[position] = null;
+    }
+
+    public void bindString(int index, String value) {
+        int position = position(index);
+        this.types[position] = TYPE_STRING;
+        this.objects[position] = value;
+    }
+
+    public void clearBindings() {
+        clear(this.columnCount * this.rowCount);
+    }
+
+    public void close() {
+        clear(this.types.length);
+        this.columnCount = 0;
+        this.rowCount = 0;
+        this.rowOffset = 0;
+    }
+
+    public void execute() {
+        throw new ODMFUnsupportedOperationException("BindBuffer can not be executed.");
+    }
+
+    public long executeInsert() {
+        throw new ODMFUnsupportedOperationException("BindBuffer can not be executed.");
+    }
+
+    public void executeUpdateDelete() {
+        throw new ODMFUnsupportedOperationException("BindBuffer can not be executed.");
+    }
+
+    public long simpleQueryForLong() {
+        throw new ODMFUnsupportedOperationException("BindBuffer can not be executed.");
+    }
+
+    public String simpleQueryForString() {
+        throw new ODMFUnsupportedOperationException("BindBuffer can not be executed.");
+    }
+}
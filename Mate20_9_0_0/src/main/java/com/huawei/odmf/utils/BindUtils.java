@@ -7,6 +7,18 @@ import java.sql.SQLException;
 import java.util.Calendar;
 
 public class BindUtils {
+    private static final ThreadLocal<BindBuffer> BIND_BUFFER = new ThreadLocal<BindBuffer>() {
+        protected BindBuffer initialValue() {
+            return new BindBuffer();
+        }
+    };
+
+    public static BindBuffer obtainBindBuffer(int columnCount, int rowCount) {
+        BindBuffer buffer = (BindBuffer) BIND_BUFFER.get();
+        buffer.reset(columnCount, rowCount);
+        return buffer;
+    }
+
     public static byte[] bindBlob(Blob blob) {
         try {
             long length = blob.length();
@@ -9,6 +9,14 @@ public interface Cache<K, V> {
 
     V get(K k);
 
+    long getEvictionCount();
+
+    int getHitRate();
+
+    long getHitCount();
+
+    long getMissCount();
+
     V put(K k, V v);
 
     V remove(K k);
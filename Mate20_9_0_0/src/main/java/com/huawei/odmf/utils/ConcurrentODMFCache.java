@@ -0,0 +1,270 @@
+package com.huawei.odmf.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConcurrentODMFCache<K, V> implements Cache<K, V> {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final int DEFAULT_MAX_WEIGHT = 1000;
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    private static final int MAX_SEGMENTS = 65536;
+    private final AtomicLong evictionCount;
+    private final AtomicLong hitCount;
+    private final long maxWeight;
+    private final AtomicLong missCount;
+    private final int segmentMask;
+    private final int segmentShift;
+    private final Segment<K, V>[] segments;
+    private final Weigher<K, V> weigher;
+
+    public interface Weigher<K, V> {
+        int weigh(K k, V v);
+    }
+
+    private static final class Node<V> {
+        final V value;
+        final int weight;
+
+        Node(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final AtomicLong evictionCount;
+        private final LinkedHashMap<K, Node<V>> map = new LinkedHashMap(DEFAULT_TABLE_SIZE, DEFAULT_LOAD_FACTOR, true);
+        private final long maxSegmentWeight;
+        private int size;
+        private long weight;
+
+        Segment(long maxSegmentWeight, AtomicLong evictionCount) {
+            this.maxSegmentWeight = maxSegmentWeight;
+            this.evictionCount = evictionCount;
+        }
+
+        synchronized V get(K key) {
+            Node<V> node = (Node) this.map.get(key);
+            return node != null ? node.value : null;
+        }
+
+        synchronized V put(K key, V value, int entryWeight) {
+            Node<V> previous = (Node) this.map.put(key, new Node(value, entryWeight));
+            this.weight += (long) entryWeight;
+            if (previous != null) {
+                this.weight -= (long) previous.weight;
+            } else {
+                this.size++;
+            }
+            evictIfNeeded();
+            return previous != null ? previous.value : null;
+        }
+
+        synchronized V remove(K key) {
+            Node<V> previous = (Node) this.map.remove(key);
+            if (previous == null) {
+                return null;
+            }
+            this.weight -= (long) previous.weight;
+            this.size--;
+            return previous.value;
+        }
+
+        synchronized boolean containsKey(K key) {
+            return this.map.containsKey(key);
+        }
+
+        synchronized boolean containsValue(V value) {
+            for (Node<V> node : this.map.values()) {
+                if (value.equals(node.value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void clear() {
+            this.map.clear();
+            this.size = 0;
+            this.weight = 0;
+        }
+
+        synchronized int size() {
+            return this.size;
+        }
+
+        synchronized long weight() {
+            return this.weight;
+        }
+
+        private void evictIfNeeded() {
+            Iterator<Entry<K, Node<V>>> iterator = this.map.entrySet().iterator();
+            while (this.weight > this.maxSegmentWeight && iterator.hasNext()) {
+                Entry<K, Node<V>> eldest = (Entry) iterator.next();
+                if (this.size > 1) {
+                    iterator.remove();
+                    this.weight -= (long) ((Node) eldest.getValue()).weight;
+                    this.size--;
+                    this.evictionCount.incrementAndGet();
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    public ConcurrentODMFCache() {
+        this(DEFAULT_MAX_WEIGHT, DEFAULT_CONCURRENCY_LEVEL, null);
+    }
+
+    public ConcurrentODMFCache(int maxNum) {
+        this(maxNum, DEFAULT_CONCURRENCY_LEVEL, null);
+    }
+
+    public ConcurrentODMFCache(long maxWeight, int concurrencyLevel, Weigher<K, V> weigher) {
+        this.hitCount = new AtomicLong();
+        this.missCount = new AtomicLong();
+        this.evictionCount = new AtomicLong();
+        if (maxWeight <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("maxWeight <= 0 || concurrencyLevel <= 0");
+        }
+        int shift = 0;
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount < MAX_SEGMENTS && ((long) segmentCount) * 2 <= maxWeight) {
+            segmentCount <<= 1;
+            shift++;
+        }
+        this.segmentShift = 32 - shift;
+        this.segmentMask = segmentCount - 1;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.segments = new Segment[segmentCount];
+        long segmentWeight = maxWeight / ((long) segmentCount);
+        long remainder = maxWeight % ((long) segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(((long) i) < remainder ? segmentWeight + 1 : segmentWeight, this.evictionCount);
+        }
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h += (h << 15) ^ -12931;
+        h ^= h >>> 10;
+        h += h << 3;
+        h ^= h >>> 6;
+        h += (h << 2) + (h << 14);
+        h ^= h >>> 16;
+        if (this.segmentMask == 0) {
+            return this.segments[0];
+        }
+        return this.segments[(h >>> this.segmentShift) & this.segmentMask];
+    }
+
+    private int weightOf(K key, V value) {
+        if (this.weigher == null) {
+            return 1;
+        }
+        int entryWeight = this.weigher.weigh(key, value);
+        if (entryWeight >= 0) {
+            return entryWeight;
+        }
+        throw new IllegalStateException("Weigher returned a negative weight.");
+    }
+
+    public V put(K key, V value) {
+        if (key != null && value != null) {
+            return segmentFor(key).put(key, value, weightOf(key, value));
+        }
+        throw new IllegalArgumentException("key == null || value == null");
+    }
+
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key == null");
+        }
+        V value = segmentFor(key).get(key);
+        if (value != null) {
+            this.hitCount.incrementAndGet();
+        } else {
+            this.missCount.incrementAndGet();
+        }
+        return value;
+    }
+
+    public V remove(K key) {
+        if (key != null) {
+            return segmentFor(key).remove(key);
+        }
+        throw new NullPointerException("key == null");
+    }
+
+    public boolean clear() {
+        for (Segment<K, V> segment : this.segments) {
+            segment.clear();
+        }
+        this.hitCount.set(0);
+        this.missCount.set(0);
+        this.evictionCount.set(0);
+        return true;
+    }
+
+    public boolean containsKey(K key) {
+        if (key != null) {
+            return segmentFor(key).containsKey(key);
+        }
+        throw new IllegalArgumentException("key == null || value == null");
+    }
+
+    public boolean containsValue(V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("key == null || value == null");
+        }
+        for (Segment<K, V> segment : this.segments) {
+            if (segment.containsValue(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long capacity() {
+        return this.maxWeight;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long weightedSize() {
+        long weight = 0;
+        for (Segment<K, V> segment : this.segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return this.evictionCount.get();
+    }
+
+    public int getHitRate() {
+        long hits = this.hitCount.get();
+        long accesses = hits + this.missCount.get();
+        return accesses != 0 ? (int) ((100 * hits) / accesses) : 0;
+    }
+}
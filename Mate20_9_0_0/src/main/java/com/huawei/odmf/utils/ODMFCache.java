@@ -7,6 +7,7 @@ public class ODMFCache<K, V> implements Cache<K, V> {
     private float DEFAULT_LOAD_FACTOR;
     private int DEFAULT_TABLE_SIZE;
     private int currentNum;
+    private long evictionCount;
     private int hitCount;
     private final Object lock;
     private LinkedHashMap<K, V> map;
@@ -24,6 +25,7 @@ public class ODMFCache<K, V> implements Cache<K, V> {
                 boolean b = ODMFCache.this.currentNum >= ODMFCache.this.maxNum;
                 if (b) {
                     ODMFCache.this.currentNum = ODMFCache.this.currentNum - 1;
+                    ODMFCache.this.evictionCount = ODMFCache.this.evictionCount + 1;
                 }
                 return b;
             }
@@ -46,6 +48,7 @@ public class ODMFCache<K, V> implements Cache<K, V> {
                 boolean b = ODMFCache.this.currentNum >= i;
                 if (b) {
                     ODMFCache.this.currentNum = ODMFCache.this.currentNum - 1;
+                    ODMFCache.this.evictionCount = ODMFCache.this.evictionCount + 1;
                 }
                 return b;
             }
@@ -152,4 +155,28 @@ public class ODMFCache<K, V> implements Cache<K, V> {
         }
         return hitPercent;
     }
+
+    public long getHitCount() {
+        long j;
+        synchronized (this.lock) {
+            j = (long) this.hitCount;
+        }
+        return j;
+    }
+
+    public long getMissCount() {
+        long j;
+        synchronized (this.lock) {
+            j = (long) this.missCount;
+        }
+        return j;
+    }
+
+    public long getEvictionCount() {
+        long j;
+        synchronized (this.lock) {
+            j = this.evictionCount;
+        }
+        return j;
+    }
 }
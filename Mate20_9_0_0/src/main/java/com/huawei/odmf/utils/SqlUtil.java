@@ -95,6 +95,27 @@ public class SqlUtil {
         return builder.toString();
     }
 
+    public static String createSqlMultiInsert(String tableName, List<? extends Attribute> attributes, int rowCount) {
+        int size = attributes.size();
+        String[] columns = new String[size];
+        for (int i = 0; i < size; i++) {
+            columns[i] = ((Attribute) attributes.get(i)).getColumnName();
+        }
+        StringBuilder builder = new StringBuilder("INSERT INTO ");
+        builder.append('\"').append(tableName).append('\"').append(" (");
+        appendColumns(builder, columns);
+        builder.append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('(');
+            appendPlaceholders(builder, size);
+            builder.append(')');
+        }
+        return builder.toString();
+    }
+
     public static String createSqlDelete(String tableName, String[] columns) {
         String quotedTableName = '\"' + tableName + '\"';
         StringBuilder builder = new StringBuilder("DELETE FROM ");
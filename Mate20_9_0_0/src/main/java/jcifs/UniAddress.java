@@ -7,8 +7,12 @@ import java.util.StringTokenizer;
 import jcifs.netbios.Lmhosts;
 import jcifs.netbios.NbtAddress;
 import jcifs.util.LogStream;
+import jcifs.util.ResolverCache;
 
 public class UniAddress {
+    private static final int CACHE_POLICY = Config.getInt("jcifs.resolveCachePolicy", 30);
+    private static final int NEGATIVE_CACHE_POLICY = Config.getInt("jcifs.resolveNegativeCachePolicy", 10);
+    private static final ResolverCache<String, UniAddress[]> CACHE = new ResolverCache(toMillis(CACHE_POLICY), toMillis(NEGATIVE_CACHE_POLICY), ResolverCache.REFRESH_AHEAD);
     private static final int RESOLVER_BCAST = 1;
     private static final int RESOLVER_DNS = 2;
     private static final int RESOLVER_LMHOSTS = 3;
@@ -210,62 +214,96 @@ public class UniAddress {
     }
 
     public static UniAddress[] getAllByName(String hostname, boolean possibleNTDomainOrWorkgroup) throws UnknownHostException {
-        int i;
         if (hostname == null || hostname.length() == 0) {
             throw new UnknownHostException();
         } else if (isDotQuadIP(hostname)) {
             return new UniAddress[]{new UniAddress(NbtAddress.getByName(hostname))};
         } else {
-            i = 0;
-            while (i < resolveOrder.length) {
-                try {
-                    NbtAddress addr;
-                    switch (resolveOrder[i]) {
-                        case 0:
-                            if (hostname != NbtAddress.MASTER_BROWSER_NAME && hostname.length() <= 15) {
-                                if (!possibleNTDomainOrWorkgroup) {
-                                    addr = NbtAddress.getByName(hostname, 32, null, NbtAddress.getWINSAddress());
-                                    break;
-                                }
-                                addr = lookupServerOrWorkgroup(hostname, NbtAddress.getWINSAddress());
-                                break;
-                            }
-                        case 1:
-                            if (hostname.length() <= 15) {
-                                if (!possibleNTDomainOrWorkgroup) {
-                                    addr = NbtAddress.getByName(hostname, 32, null, baddr);
-                                    break;
-                                }
-                                addr = lookupServerOrWorkgroup(hostname, baddr);
+            final String name = hostname;
+            final boolean possibleDomain = possibleNTDomainOrWorkgroup;
+            try {
+                UniAddress[] cached = (UniAddress[]) CACHE.get((possibleNTDomainOrWorkgroup ? "1:" : "0:") + hostname.toLowerCase(), new ResolverCache.Loader<String, UniAddress[]>() {
+                    public UniAddress[] load(String key) {
+                        try {
+                            return UniAddress.resolveAllByName(name, possibleDomain);
+                        } catch (UnknownHostException e) {
+                            return null;
+                        }
+                    }
+                });
+                if (cached == null) {
+                    throw new UnknownHostException(hostname);
+                }
+                UniAddress[] addrs = new UniAddress[cached.length];
+                for (int i = 0; i < cached.length; i++) {
+                    addrs[i] = new UniAddress(cached[i].addr);
+                }
+                return addrs;
+            } catch (UnknownHostException uhe) {
+                throw uhe;
+            } catch (IOException ioe) {
+                throw new UnknownHostException(hostname);
+            }
+        }
+    }
+
+    public static ResolverCache<String, UniAddress[]> getResolverCache() {
+        return CACHE;
+    }
+
+    private static long toMillis(int policy) {
+        return policy > 0 ? ((long) policy) * 1000 : (long) policy;
+    }
+
+    private static UniAddress[] resolveAllByName(String hostname, boolean possibleNTDomainOrWorkgroup) throws UnknownHostException {
+        for (int i = 0; i < resolveOrder.length; i++) {
+            try {
+                NbtAddress addr;
+                switch (resolveOrder[i]) {
+                    case 0:
+                        if (hostname != NbtAddress.MASTER_BROWSER_NAME && hostname.length() <= 15) {
+                            if (!possibleNTDomainOrWorkgroup) {
+                                addr = NbtAddress.getByName(hostname, 32, null, NbtAddress.getWINSAddress());
                                 break;
                             }
-                            continue;
-                        case 2:
-                            if (isAllDigits(hostname)) {
-                                throw new UnknownHostException(hostname);
-                            }
-                            InetAddress[] iaddrs = InetAddress.getAllByName(hostname);
-                            UniAddress[] addrs = new UniAddress[iaddrs.length];
-                            for (int ii = 0; ii < iaddrs.length; ii++) {
-                                addrs[ii] = new UniAddress(iaddrs[ii]);
-                            }
-                            return addrs;
-                        case 3:
-                            addr = Lmhosts.getByName(hostname);
-                            if (addr != null) {
+                            addr = lookupServerOrWorkgroup(hostname, NbtAddress.getWINSAddress());
+                            break;
+                        }
+                        continue;
+                    case 1:
+                        if (hostname.length() <= 15) {
+                            if (!possibleNTDomainOrWorkgroup) {
+                                addr = NbtAddress.getByName(hostname, 32, null, baddr);
                                 break;
                             }
-                            continue;
-                        default:
+                            addr = lookupServerOrWorkgroup(hostname, baddr);
+                            break;
+                        }
+                        continue;
+                    case 2:
+                        if (isAllDigits(hostname)) {
                             throw new UnknownHostException(hostname);
-                    }
-                    return new UniAddress[]{new UniAddress(addr)};
-                } catch (IOException e) {
+                        }
+                        InetAddress[] iaddrs = InetAddress.getAllByName(hostname);
+                        UniAddress[] addrs = new UniAddress[iaddrs.length];
+                        for (int ii = 0; ii < iaddrs.length; ii++) {
+                            addrs[ii] = new UniAddress(iaddrs[ii]);
+                        }
+                        return addrs;
+                    case 3:
+                        addr = Lmhosts.getByName(hostname);
+                        if (addr != null) {
+                            break;
+                        }
+                        continue;
+                    default:
+                        throw new UnknownHostException(hostname);
                 }
+                return new UniAddress[]{new UniAddress(addr)};
+            } catch (IOException e) {
             }
-            throw new UnknownHostException(hostname);
         }
-        i++;
+        throw new UnknownHostException(hostname);
     }
 
     public UniAddress(Object addr) {
@@ -1,21 +1,22 @@
 package jcifs.netbios;
 
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.HashMap;
 import jcifs.Config;
 import jcifs.util.Hexdump;
+import jcifs.util.ResolverCache;
 
 public final class NbtAddress {
-    private static final HashMap ADDRESS_CACHE = new HashMap();
     static final String ANY_HOSTS_NAME = "*\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u0000";
     public static final int B_NODE = 0;
     private static final int CACHE_POLICY = Config.getInt("jcifs.netbios.cachePolicy", DEFAULT_CACHE_POLICY);
     private static final NameServiceClient CLIENT = new NameServiceClient();
     private static final int DEFAULT_CACHE_POLICY = 30;
+    private static final int NEGATIVE_CACHE_POLICY = Config.getInt("jcifs.netbios.negativeCachePolicy", CACHE_POLICY);
+    private static final ResolverCache<Name, NbtAddress> ADDRESS_CACHE = new ResolverCache(toMillis(CACHE_POLICY), toMillis(NEGATIVE_CACHE_POLICY), ResolverCache.REFRESH_AHEAD);
     private static final int FOREVER = -1;
     public static final int H_NODE = 3;
-    private static final HashMap LOOKUP_TABLE = new HashMap();
     public static final String MASTER_BROWSER_NAME = "\u0001\u0002__MSBROWSE__\u0002";
     public static final int M_NODE = 2;
     static final InetAddress[] NBNS = Config.getInetAddressArray("jcifs.netbios.wins", ",", new InetAddress[0]);
@@ -38,20 +39,8 @@ public final class NbtAddress {
     byte[] macAddress;
     int nodeType;
 
-    static final class CacheEntry {
-        NbtAddress address;
-        long expiration;
-        Name hostName;
-
-        CacheEntry(Name hostName, NbtAddress address, long expiration) {
-            this.hostName = hostName;
-            this.address = address;
-            this.expiration = expiration;
-        }
-    }
-
     static {
-        ADDRESS_CACHE.put(UNKNOWN_NAME, new CacheEntry(UNKNOWN_NAME, UNKNOWN_ADDRESS, -1));
+        ADDRESS_CACHE.put(UNKNOWN_NAME, UNKNOWN_ADDRESS, -1);
         InetAddress localInetAddress = CLIENT.laddr;
         if (localInetAddress == null) {
             try {
@@ -73,64 +62,39 @@ public final class NbtAddress {
         cacheAddress(localName, localhost, -1);
     }
 
+    private static long toMillis(int policy) {
+        return policy > 0 ? ((long) policy) * 1000 : (long) policy;
+    }
+
     static void cacheAddress(Name hostName, NbtAddress addr) {
         if (CACHE_POLICY != 0) {
-            long expiration = -1;
-            if (CACHE_POLICY != -1) {
-                expiration = System.currentTimeMillis() + ((long) (CACHE_POLICY * 1000));
-            }
-            cacheAddress(hostName, addr, expiration);
+            ADDRESS_CACHE.put(hostName, addr);
         }
     }
 
     static void cacheAddress(Name hostName, NbtAddress addr, long expiration) {
         if (CACHE_POLICY != 0) {
-            synchronized (ADDRESS_CACHE) {
-                CacheEntry entry = (CacheEntry) ADDRESS_CACHE.get(hostName);
-                if (entry == null) {
-                    ADDRESS_CACHE.put(hostName, new CacheEntry(hostName, addr, expiration));
-                } else {
-                    entry.address = addr;
-                    entry.expiration = expiration;
-                }
-            }
+            ADDRESS_CACHE.put(hostName, addr, expiration);
         }
     }
 
     static void cacheAddressArray(NbtAddress[] addrs) {
         if (CACHE_POLICY != 0) {
-            long expiration = -1;
-            if (CACHE_POLICY != -1) {
-                expiration = System.currentTimeMillis() + ((long) (CACHE_POLICY * 1000));
-            }
-            synchronized (ADDRESS_CACHE) {
-                for (int i = 0; i < addrs.length; i++) {
-                    CacheEntry entry = (CacheEntry) ADDRESS_CACHE.get(addrs[i].hostName);
-                    if (entry == null) {
-                        ADDRESS_CACHE.put(addrs[i].hostName, new CacheEntry(addrs[i].hostName, addrs[i], expiration));
-                    } else {
-                        entry.address = addrs[i];
-                        entry.expiration = expiration;
-                    }
-                }
+            for (int i = 0; i < addrs.length; i++) {
+                ADDRESS_CACHE.put(addrs[i].hostName, addrs[i]);
             }
         }
     }
 
     static NbtAddress getCachedAddress(Name hostName) {
-        NbtAddress nbtAddress = null;
-        if (CACHE_POLICY != 0) {
-            synchronized (ADDRESS_CACHE) {
-                CacheEntry entry = (CacheEntry) ADDRESS_CACHE.get(hostName);
-                if (entry != null && entry.expiration < System.currentTimeMillis() && entry.expiration >= 0) {
-                    entry = null;
-                }
-                if (entry != null) {
-                    nbtAddress = entry.address;
-                }
-            }
+        if (CACHE_POLICY == 0) {
+            return null;
         }
-        return nbtAddress;
+        return (NbtAddress) ADDRESS_CACHE.getIfPresent(hostName);
+    }
+
+    public static ResolverCache<Name, NbtAddress> getAddressCache() {
+        return ADDRESS_CACHE;
     }
 
     static NbtAddress doNameQuery(Name name, InetAddress svr) throws UnknownHostException {
@@ -138,54 +102,25 @@ public final class NbtAddress {
             svr = CLIENT.baddr;
         }
         name.srcHashCode = svr != null ? svr.hashCode() : 0;
-        NbtAddress addr = getCachedAddress(name);
-        if (addr == null) {
-            addr = (NbtAddress) checkLookupTable(name);
-            if (addr == null) {
-                try {
-                    addr = CLIENT.getByName(name, svr);
-                } catch (UnknownHostException e) {
-                    addr = UNKNOWN_ADDRESS;
-                } finally {
-                    cacheAddress(name, addr);
-                    updateLookupTable(name);
-                }
-            }
-        }
-        if (addr != UNKNOWN_ADDRESS) {
-            return addr;
-        }
-        throw new UnknownHostException(name.toString());
-    }
-
-    private static Object checkLookupTable(Name name) {
-        Object obj;
-        synchronized (LOOKUP_TABLE) {
-            if (LOOKUP_TABLE.containsKey(name)) {
-                while (LOOKUP_TABLE.containsKey(name)) {
+        final InetAddress server = svr;
+        try {
+            NbtAddress addr = (NbtAddress) ADDRESS_CACHE.get(name, new ResolverCache.Loader<Name, NbtAddress>() {
+                public NbtAddress load(Name key) {
                     try {
-                        LOOKUP_TABLE.wait();
-                    } catch (InterruptedException e) {
-                    }
-                }
-                obj = getCachedAddress(name);
-                if (obj == null) {
-                    synchronized (LOOKUP_TABLE) {
-                        LOOKUP_TABLE.put(name, name);
+                        return NbtAddress.CLIENT.getByName(key, server);
+                    } catch (UnknownHostException e) {
+                        return null;
                     }
                 }
-            } else {
-                LOOKUP_TABLE.put(name, name);
-                obj = null;
+            });
+            if (addr != null && addr != UNKNOWN_ADDRESS) {
+                return addr;
             }
-        }
-        return obj;
-    }
-
-    private static void updateLookupTable(Name name) {
-        synchronized (LOOKUP_TABLE) {
-            LOOKUP_TABLE.remove(name);
-            LOOKUP_TABLE.notifyAll();
+            throw new UnknownHostException(name.toString());
+        } catch (UnknownHostException uhe) {
+            throw uhe;
+        } catch (IOException ioe) {
+            throw new UnknownHostException(name.toString());
         }
     }
 
@@ -1,52 +1,107 @@
 package jcifs.smb;
 
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import jcifs.Config;
 
 public class BufferCache {
+    public static final int DEFAULT_BUFFER_SIZE = 65535;
     private static final int MAX_BUFFERS = Config.getInt("jcifs.smb.maxBuffers", 16);
-    static Object[] cache = new Object[MAX_BUFFERS];
-    private static int freeBuffers = 0;
+    private static final int[] SIZE_CLASSES = new int[]{4096, 16384, DEFAULT_BUFFER_SIZE};
+    private static final SizeClass[] classes = new SizeClass[SIZE_CLASSES.length];
+    private static final AtomicInteger freeCount = new AtomicInteger();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
 
-    public static byte[] getBuffer() {
-        synchronized (cache) {
-            byte[] buf;
-            if (freeBuffers > 0) {
-                for (int i = 0; i < MAX_BUFFERS; i++) {
-                    if (cache[i] != null) {
-                        buf = (byte[]) cache[i];
-                        cache[i] = null;
-                        freeBuffers--;
-                        return buf;
-                    }
-                }
+    private static final class SizeClass {
+        private final ConcurrentLinkedQueue<byte[]> freeList = new ConcurrentLinkedQueue();
+
+        byte[] poll() {
+            byte[] buf = (byte[]) this.freeList.poll();
+            if (buf != null) {
+                BufferCache.freeCount.decrementAndGet();
             }
-            buf = new byte[65535];
             return buf;
         }
+
+        void offer(byte[] buf) {
+            if (BufferCache.freeCount.incrementAndGet() <= BufferCache.MAX_BUFFERS) {
+                this.freeList.offer(buf);
+            } else {
+                BufferCache.freeCount.decrementAndGet();
+            }
+        }
     }
 
-    static void getBuffers(SmbComTransaction req, SmbComTransactionResponse rsp) {
-        synchronized (cache) {
-            req.txn_buf = getBuffer();
-            rsp.txn_buf = getBuffer();
+    static {
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            classes[i] = new SizeClass();
+        }
+    }
+
+    private static int classIndexForSize(int size) {
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            if (size <= SIZE_CLASSES[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int classIndexForBuffer(byte[] buf) {
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            if (buf.length == SIZE_CLASSES[i]) {
+                return i;
+            }
         }
+        return -1;
+    }
+
+    public static byte[] getBuffer() {
+        return getBuffer(DEFAULT_BUFFER_SIZE);
+    }
+
+    public static byte[] getBuffer(int minSize) {
+        int index = classIndexForSize(minSize);
+        if (index < 0) {
+            misses.incrementAndGet();
+            return new byte[minSize];
+        }
+        byte[] buf = classes[index].poll();
+        if (buf != null) {
+            hits.incrementAndGet();
+            return buf;
+        }
+        misses.incrementAndGet();
+        return new byte[SIZE_CLASSES[index]];
+    }
+
+    static void getBuffers(SmbComTransaction req, SmbComTransactionResponse rsp) {
+        req.txn_buf = getBuffer();
+        rsp.txn_buf = getBuffer();
     }
 
-    /* JADX WARNING: Missing block: B:20:?, code:
-            return;
-     */
-    /* Code decompiled incorrectly, please refer to instructions dump. */
     public static void releaseBuffer(byte[] buf) {
-        synchronized (cache) {
-            if (freeBuffers < MAX_BUFFERS) {
-                for (int i = 0; i < MAX_BUFFERS; i++) {
-                    if (cache[i] == null) {
-                        cache[i] = buf;
-                        freeBuffers++;
-                        return;
-                    }
-                }
+        if (buf != null) {
+            int index = classIndexForBuffer(buf);
+            if (index >= 0) {
+                classes[index].offer(buf);
             }
         }
     }
+
+    public static long getHitCount() {
+        return hits.get();
+    }
+
+    public static long getMissCount() {
+        return misses.get();
+    }
+
+    public static int getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total != 0 ? (int) ((100 * hitCount) / total) : 0;
+    }
 }
@@ -88,6 +88,7 @@ interface SmbConstants {
     public static final int LM_COMPATIBILITY = Config.getInt("jcifs.smb.lmCompatibility", 3);
     public static final int LPORT = Config.getInt("jcifs.smb.client.lport", 0);
     public static final int MAX_MPX_COUNT = Config.getInt("jcifs.smb.client.maxMpxCount", 10);
+    public static final int MAX_OUTSTANDING = Config.getInt("jcifs.smb.client.maxOutstanding", 0);
     public static final long MILLISECONDS_BETWEEN_1970_AND_1601 = 11644473600000L;
     public static final String NATIVE_LANMAN = Config.getProperty("jcifs.smb.client.nativeLanMan", "jCIFS");
     public static final String NATIVE_OS = Config.getProperty("jcifs.smb.client.nativeOs", System.getProperty("os.name"));
@@ -98,6 +99,7 @@ interface SmbConstants {
     public static final int OPEN_FUNCTION_OVERWRITE_IF_EXISTS = 32;
     public static final int PID = ((int) (Math.random() * 65536.0d));
     public static final int RCV_BUF_SIZE = Config.getInt("jcifs.smb.client.rcv_buf_size", DEFAULT_RCV_BUF_SIZE);
+    public static final int READ_AHEAD_DEPTH = Config.getInt("jcifs.smb.client.readAheadDepth", 0);
     public static final int READ_CONTROL = 131072;
     public static final int RESPONSE_TIMEOUT = Config.getInt("jcifs.smb.client.responseTimeout", DEFAULT_RESPONSE_TIMEOUT);
     public static final int SECURITY_SHARE = 0;
@@ -118,6 +120,7 @@ interface SmbConstants {
     public static final boolean USE_NTSTATUS = Config.getBoolean("jcifs.smb.client.useNtStatus", true);
     public static final boolean USE_UNICODE = Config.getBoolean("jcifs.smb.client.useUnicode", true);
     public static final int VC_NUMBER = 1;
+    public static final int WRITE_BEHIND_DEPTH = Config.getInt("jcifs.smb.client.writeBehindDepth", 0);
     public static final int WRITE_DAC = 262144;
     public static final int WRITE_OWNER = 524288;
 
@@ -351,9 +351,13 @@ public class SmbFile extends URLConnection implements SmbConstants {
 
     void send(ServerMessageBlock request, ServerMessageBlock response) throws SmbException {
         while (true) {
-            resolveDfs(request);
+            SmbTree smbTree;
+            synchronized (this) {
+                resolveDfs(request);
+                smbTree = this.tree;
+            }
             try {
-                this.tree.send(request, response);
+                smbTree.send(request, response);
                 return;
             } catch (DfsReferral dre) {
                 if (dre.resolveHashes) {
@@ -449,7 +453,7 @@ public class SmbFile extends URLConnection implements SmbConstants {
         return this.addressIndex < this.addresses.length;
     }
 
-    void connect0() throws SmbException {
+    synchronized void connect0() throws SmbException {
         try {
             connect();
         } catch (Throwable uhe) {
@@ -1001,6 +1005,36 @@ public class SmbFile extends URLConnection implements SmbConstants {
         return listFiles("*", 22, null, filter);
     }
 
+    public SmbFileIterator listFilesIterator() throws SmbException {
+        return listFilesIterator("*", 22, null, null);
+    }
+
+    public SmbFileIterator listFilesIterator(String wildcard) throws SmbException {
+        return listFilesIterator(wildcard, 22, null, null);
+    }
+
+    public SmbFileIterator listFilesIterator(SmbFilenameFilter filter) throws SmbException {
+        return listFilesIterator("*", 22, filter, null);
+    }
+
+    public SmbFileIterator listFilesIterator(SmbFileFilter filter) throws SmbException {
+        return listFilesIterator("*", 22, null, filter);
+    }
+
+    SmbFileIterator listFilesIterator(String wildcard, int searchAttributes, SmbFilenameFilter fnf, SmbFileFilter ff) throws SmbException {
+        if (ff != null && (ff instanceof DosFileFilter)) {
+            DosFileFilter dff = (DosFileFilter) ff;
+            if (dff.wildcard != null) {
+                wildcard = dff.wildcard;
+            }
+            searchAttributes = dff.attributes;
+        }
+        if (this.url.getHost().length() == 0 || getType() == 2 || this.share == null) {
+            return new SmbFileIterator(listFiles(wildcard, searchAttributes, fnf, ff));
+        }
+        return new SmbFileIterator(this, wildcard, searchAttributes, fnf, ff);
+    }
+
     String[] list(String wildcard, int searchAttributes, SmbFilenameFilter fnf, SmbFileFilter ff) throws SmbException {
         ArrayList list = new ArrayList();
         doEnum(list, false, wildcard, searchAttributes, fnf, ff);
@@ -14,6 +14,7 @@ public class SmbFileInputStream extends InputStream {
     SmbFile file;
     private long fp;
     private int openFlags;
+    private SmbReadAhead readAhead;
     private int readSize;
     private byte[] tmp;
 
@@ -37,6 +38,10 @@ public class SmbFileInputStream extends InputStream {
             file.connect0();
         }
         this.readSize = Math.min(file.tree.session.transport.rcv_buf_size - 70, file.tree.session.transport.server.maxBufferSize - 70);
+        int depth = SmbReadAhead.depthFor(file, SmbConstants.READ_AHEAD_DEPTH);
+        if (file.type != 16 && depth > 0) {
+            this.readAhead = new SmbReadAhead(file, this.readSize, depth);
+        }
     }
 
     protected IOException seToIoe(SmbException se) {
@@ -56,6 +61,9 @@ public class SmbFileInputStream extends InputStream {
 
     public void close() throws IOException {
         try {
+            if (this.readAhead != null) {
+                this.readAhead.close();
+            }
             this.file.close();
             this.tmp = null;
         } catch (SmbException se) {
@@ -93,6 +101,17 @@ public class SmbFileInputStream extends InputStream {
             smbFile = this.file;
             SmbFile.log.println("read: fid=" + this.file.fid + ",off=" + off + ",len=" + len);
         }
+        if (this.readAhead != null) {
+            try {
+                int n = this.readAhead.read(this.fp, b, off, len);
+                if (n > 0) {
+                    this.fp += (long) n;
+                }
+                return n;
+            } catch (SmbException se) {
+                throw seToIoe(se);
+            }
+        }
         SmbComReadAndXResponse response = new SmbComReadAndXResponse(b, off);
         if (this.file.type == 16) {
             response.responseTimeout = 0;
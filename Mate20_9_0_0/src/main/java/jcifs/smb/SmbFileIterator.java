@@ -0,0 +1,187 @@
+package jcifs.smb;
+
+import java.io.Closeable;
+import java.net.MalformedURLException;
+import java.net.UnknownHostException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import jcifs.util.LogStream;
+
+public class SmbFileIterator implements Iterator<SmbFile>, Closeable {
+    private final SmbFile dir;
+    private final SmbFileFilter ff;
+    private SmbFile[] files;
+    private final SmbFilenameFilter fnf;
+    private int index;
+    private SmbFile next;
+    private Future<Trans2FindFirst2Response> nextPage;
+    private Trans2FindFirst2Response page;
+    private boolean searchOpen;
+    private int sid;
+
+    SmbFileIterator(SmbFile[] files) {
+        this.dir = null;
+        this.fnf = null;
+        this.ff = null;
+        this.files = files;
+    }
+
+    SmbFileIterator(SmbFile dir, String wildcard, int searchAttributes, SmbFilenameFilter fnf, SmbFileFilter ff) throws SmbException {
+        this.dir = dir;
+        this.fnf = fnf;
+        this.ff = ff;
+        String path = dir.getUncPath0();
+        String p = dir.getURL().getPath();
+        if (p.lastIndexOf(47) != p.length() - 1) {
+            throw new SmbException(dir.getURL().toString() + " directory must end with '/'");
+        }
+        Trans2FindFirst2 req = new Trans2FindFirst2(path, wildcard, searchAttributes);
+        Trans2FindFirst2Response resp = new Trans2FindFirst2Response();
+        LogStream logStream = SmbFile.log;
+        if (LogStream.level >= 3) {
+            SmbFile.log.println("listFilesIterator: " + path);
+        }
+        dir.send(req, resp);
+        this.sid = resp.sid;
+        this.searchOpen = true;
+        setPage(resp);
+    }
+
+    public boolean hasNext() {
+        if (this.next == null) {
+            try {
+                this.next = advance();
+            } catch (SmbException se) {
+                close();
+                throw new IllegalStateException(se.getMessage(), se);
+            }
+        }
+        return this.next != null;
+    }
+
+    public SmbFile next() {
+        if (hasNext()) {
+            SmbFile f = this.next;
+            this.next = null;
+            return f;
+        }
+        throw new NoSuchElementException();
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    public void close() {
+        this.page = null;
+        this.files = null;
+        if (this.nextPage != null) {
+            if (!this.nextPage.cancel(false)) {
+                try {
+                    this.nextPage.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e2) {
+                }
+            }
+            this.nextPage = null;
+        }
+        if (this.searchOpen) {
+            this.searchOpen = false;
+            try {
+                this.dir.send(new SmbComFindClose2(this.sid), new SmbComBlankResponse());
+            } catch (SmbException se) {
+                LogStream logStream = SmbFile.log;
+                if (LogStream.level >= 4) {
+                    se.printStackTrace(SmbFile.log);
+                }
+            }
+        }
+    }
+
+    private SmbFile advance() throws SmbException {
+        if (this.files != null) {
+            if (this.index < this.files.length) {
+                SmbFile f = this.files[this.index];
+                this.index++;
+                return f;
+            }
+            this.files = null;
+            return null;
+        }
+        while (this.page != null) {
+            while (this.index < this.page.numEntries) {
+                FileEntry entry = this.page.results[this.index];
+                this.index++;
+                SmbFile f = toSmbFile(entry);
+                if (f != null) {
+                    return f;
+                }
+            }
+            if (this.nextPage == null) {
+                close();
+                return null;
+            }
+            setPage(awaitNextPage());
+        }
+        return null;
+    }
+
+    private void setPage(Trans2FindFirst2Response resp) {
+        this.page = resp;
+        this.index = 0;
+        this.nextPage = null;
+        if (!resp.isEndOfSearch && resp.numEntries != 0) {
+            final int resumeKey = resp.resumeKey;
+            final String lastName = resp.lastName;
+            this.nextPage = SmbReadAhead.IO_EXECUTOR.submit(new Callable<Trans2FindFirst2Response>() {
+                public Trans2FindFirst2Response call() throws SmbException {
+                    Trans2FindFirst2Response next = new Trans2FindFirst2Response();
+                    next.subCommand = (byte) 2;
+                    SmbFileIterator.this.dir.send(new Trans2FindNext2(SmbFileIterator.this.sid, resumeKey, lastName), next);
+                    return next;
+                }
+            });
+        }
+    }
+
+    private Trans2FindFirst2Response awaitNextPage() throws SmbException {
+        Future<Trans2FindFirst2Response> pending = this.nextPage;
+        this.nextPage = null;
+        try {
+            return (Trans2FindFirst2Response) pending.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SmbException("Interrupted while listing " + this.dir, ie);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof SmbException) {
+                throw ((SmbException) ee.getCause());
+            }
+            throw new SmbException(this.dir.toString(), ee.getCause());
+        }
+    }
+
+    private SmbFile toSmbFile(FileEntry e) throws SmbException {
+        String name = e.getName();
+        if (name.length() == 0 || name.equals(".") || name.equals("..")) {
+            return null;
+        }
+        if (this.fnf != null && !this.fnf.accept(this.dir, name)) {
+            return null;
+        }
+        try {
+            SmbFile f = new SmbFile(this.dir, name, 1, e.getAttributes(), e.createTime(), e.lastModified(), e.length());
+            if (this.ff == null || this.ff.accept(f)) {
+                return f;
+            }
+            return null;
+        } catch (MalformedURLException mue) {
+            throw new SmbException(this.dir.toString(), mue);
+        } catch (UnknownHostException uhe) {
+            throw new SmbException(this.dir.toString(), uhe);
+        }
+    }
+}
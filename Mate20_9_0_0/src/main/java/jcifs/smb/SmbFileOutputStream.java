@@ -18,6 +18,7 @@ public class SmbFileOutputStream extends OutputStream {
     private SmbComWriteAndXResponse rspx;
     private byte[] tmp;
     private boolean useNTSmbs;
+    private SmbWriteBehind writeBehind;
     private int writeSize;
 
     public SmbFileOutputStream(String url) throws SmbException, MalformedURLException, UnknownHostException {
@@ -66,6 +67,10 @@ public class SmbFileOutputStream extends OutputStream {
         if (this.useNTSmbs) {
             this.reqx = new SmbComWriteAndX();
             this.rspx = new SmbComWriteAndXResponse();
+            int depth = SmbReadAhead.depthFor(file, SmbConstants.WRITE_BEHIND_DEPTH);
+            if (file.type != 16 && !(file instanceof SmbNamedPipe) && depth > 0) {
+                this.writeBehind = new SmbWriteBehind(file, depth);
+            }
             return;
         }
         this.req = new SmbComWrite();
@@ -73,8 +78,18 @@ public class SmbFileOutputStream extends OutputStream {
     }
 
     public void close() throws IOException {
-        this.file.close();
-        this.tmp = null;
+        try {
+            flush();
+        } finally {
+            this.file.close();
+            this.tmp = null;
+        }
+    }
+
+    public void flush() throws IOException {
+        if (this.writeBehind != null) {
+            this.writeBehind.flush();
+        }
     }
 
     public void write(int b) throws IOException {
@@ -92,6 +107,7 @@ public class SmbFileOutputStream extends OutputStream {
 
     void ensureOpen() throws IOException {
         if (!this.file.isOpen()) {
+            flush();
             this.file.open(this.openFlags, this.access | 2, 128, 0);
             if (this.append) {
                 this.fp = this.file.length();
@@ -118,6 +134,19 @@ public class SmbFileOutputStream extends OutputStream {
                 smbFile = this.file;
                 SmbFile.log.println("write: fid=" + this.file.fid + ",off=" + off + ",len=" + len);
             }
+            if (this.writeBehind != null && (flags & 1) == 0) {
+                do {
+                    int w = len > this.writeSize ? this.writeSize : len;
+                    this.writeBehind.write(this.file.fid, this.fp, b, off, w);
+                    this.fp += (long) w;
+                    off += w;
+                    len -= w;
+                } while (len > 0);
+                return;
+            }
+            if (this.writeBehind != null) {
+                flush();
+            }
             do {
                 int w;
                 if (len > this.writeSize) {
@@ -15,6 +15,7 @@ public class SmbRandomAccessFile implements DataOutput, DataInput {
     private long fp;
     private int openFlags;
     private int options;
+    private SmbReadAhead readAhead;
     private int readSize;
     private byte[] tmp;
     private int writeSize;
@@ -44,6 +45,10 @@ public class SmbRandomAccessFile implements DataOutput, DataInput {
         this.readSize = file.tree.session.transport.rcv_buf_size - 70;
         this.writeSize = file.tree.session.transport.snd_buf_size - 70;
         this.fp = 0;
+        int depth = SmbReadAhead.depthFor(file, SmbConstants.READ_AHEAD_DEPTH);
+        if (this.openFlags == 17 && depth > 0) {
+            this.readAhead = new SmbReadAhead(file, SmbReadAhead.chunkSizeFor(file), depth);
+        }
     }
 
     public int read() throws SmbException {
@@ -65,6 +70,13 @@ public class SmbRandomAccessFile implements DataOutput, DataInput {
         if (!this.file.isOpen()) {
             this.file.open(this.openFlags, 0, 128, this.options);
         }
+        if (this.readAhead != null) {
+            int n = this.readAhead.read(this.fp, b, off, len);
+            if (n > 0) {
+                this.fp += (long) n;
+            }
+            return n;
+        }
         SmbComReadAndXResponse response = new SmbComReadAndXResponse(b, off);
         int n;
         int r;
@@ -163,6 +175,9 @@ public class SmbRandomAccessFile implements DataOutput, DataInput {
     }
 
     public void close() throws SmbException {
+        if (this.readAhead != null) {
+            this.readAhead.close();
+        }
         this.file.close();
     }
 
@@ -0,0 +1,206 @@
+package jcifs.smb;
+
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jcifs.Config;
+
+class SmbReadAhead {
+    static final ExecutorService IO_EXECUTOR;
+    private static final int IO_THREADS = Config.getInt("jcifs.smb.client.ioThreads", 8);
+    private final int chunkSize;
+    private Chunk current;
+    private final int depth;
+    private boolean eof;
+    private int fid;
+    private final SmbFile file;
+    private final LinkedList<ReadTask> pending = new LinkedList();
+    private long position = -1;
+    private long requested;
+
+    static final class Chunk {
+        final byte[] buf;
+        final int length;
+        final long offset;
+
+        Chunk(long offset, byte[] buf, int length) {
+            this.offset = offset;
+            this.buf = buf;
+            this.length = length;
+        }
+    }
+
+    private final class ReadTask implements Callable<Chunk> {
+        final AtomicBoolean claimed = new AtomicBoolean();
+        Future<Chunk> future;
+        private final long offset;
+        private final int readFid;
+
+        ReadTask(int readFid, long offset) {
+            this.readFid = readFid;
+            this.offset = offset;
+        }
+
+        public Chunk call() throws SmbException {
+            if (!this.claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            byte[] buf = BufferCache.getBuffer(SmbReadAhead.this.chunkSize);
+            try {
+                SmbComReadAndXResponse response = new SmbComReadAndXResponse(buf, 0);
+                SmbReadAhead.this.file.send(new SmbComReadAndX(this.readFid, this.offset, SmbReadAhead.this.chunkSize, null), response);
+                return new Chunk(this.offset, buf, Math.max(response.dataLength, 0));
+            } catch (SmbException se) {
+                BufferCache.releaseBuffer(buf);
+                throw se;
+            } catch (RuntimeException re) {
+                BufferCache.releaseBuffer(buf);
+                throw re;
+            }
+        }
+    }
+
+    static {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(IO_THREADS, IO_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue(), new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "JCIFS-AsyncIO");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        IO_EXECUTOR = executor;
+    }
+
+    SmbReadAhead(SmbFile file, int chunkSize, int depth) {
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.depth = depth;
+    }
+
+    static int depthFor(SmbFile file, int configured) {
+        if (configured <= 0) {
+            return 0;
+        }
+        return Math.max(1, Math.min(configured, file.tree.session.transport.maxMpxCount - 1));
+    }
+
+    static int chunkSizeFor(SmbFile file) {
+        SmbTransport transport = file.tree.session.transport;
+        return Math.min(transport.rcv_buf_size - 70, transport.server.maxBufferSize - 70);
+    }
+
+    int read(long fp, byte[] b, int off, int len) throws SmbException {
+        if (fp != this.position || this.file.fid != this.fid) {
+            reset(fp);
+        }
+        int total = 0;
+        while (len > 0) {
+            if (this.current == null || this.position >= this.current.offset + ((long) this.current.length)) {
+                releaseCurrent();
+                fill();
+                if (this.pending.isEmpty()) {
+                    break;
+                }
+                this.current = await((ReadTask) this.pending.removeFirst());
+                if (this.current.length == 0) {
+                    this.eof = true;
+                    cancelPending();
+                    releaseCurrent();
+                    break;
+                }
+                if (this.current.length < this.chunkSize) {
+                    cancelPending();
+                    this.requested = this.current.offset + ((long) this.current.length);
+                }
+                fill();
+            }
+            int start = (int) (this.position - this.current.offset);
+            int n = Math.min(len, this.current.length - start);
+            System.arraycopy(this.current.buf, start, b, off, n);
+            this.position += (long) n;
+            off += n;
+            len -= n;
+            total += n;
+        }
+        return total > 0 ? total : -1;
+    }
+
+    void close() {
+        cancelPending();
+        releaseCurrent();
+        this.position = -1;
+    }
+
+    private void reset(long fp) {
+        cancelPending();
+        releaseCurrent();
+        this.fid = this.file.fid;
+        this.position = fp;
+        this.requested = fp;
+        this.eof = false;
+    }
+
+    private void fill() {
+        while (!this.eof && this.pending.size() < this.depth) {
+            ReadTask task = new ReadTask(this.fid, this.requested);
+            task.future = IO_EXECUTOR.submit(task);
+            this.pending.add(task);
+            this.requested += (long) this.chunkSize;
+        }
+    }
+
+    private Chunk await(ReadTask task) throws SmbException {
+        try {
+            return (Chunk) task.future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            this.position = -1;
+            throw new SmbException("Interrupted while waiting for read-ahead", ie);
+        } catch (ExecutionException ee) {
+            this.position = -1;
+            if (ee.getCause() instanceof SmbException) {
+                throw ((SmbException) ee.getCause());
+            }
+            throw new SmbException("Read-ahead failed", ee.getCause());
+        }
+    }
+
+    private void cancelPending() {
+        boolean interrupted = false;
+        while (!this.pending.isEmpty()) {
+            ReadTask task = (ReadTask) this.pending.removeFirst();
+            if (task.claimed.compareAndSet(false, true)) {
+                task.future.cancel(false);
+            } else {
+                while (true) {
+                    try {
+                        BufferCache.releaseBuffer(((Chunk) task.future.get()).buf);
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e2) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void releaseCurrent() {
+        if (this.current != null) {
+            BufferCache.releaseBuffer(this.current.buf);
+            this.current = null;
+        }
+    }
+}
@@ -319,6 +319,7 @@ public class SmbTransport extends Transport implements SmbConstants {
             if (this.maxMpxCount < 1) {
                 this.maxMpxCount = 1;
             }
+            setMaxOutstanding(MAX_OUTSTANDING > 0 ? Math.min(MAX_OUTSTANDING, this.maxMpxCount) : 0);
             this.snd_buf_size = Math.min(this.snd_buf_size, this.server.maxBufferSize);
             this.capabilities &= this.server.capabilities;
             if ((this.server.capabilities & Integer.MIN_VALUE) == Integer.MIN_VALUE) {
@@ -567,6 +568,7 @@ public class SmbTransport extends Transport implements SmbConstants {
                 synchronized (this) {
                     response.received = false;
                     resp.isReceived = false;
+                    acquireSlot(req, (long) RESPONSE_TIMEOUT);
                     try {
                         this.response_map.put(req, resp);
                         while (true) {
@@ -595,6 +597,8 @@ public class SmbTransport extends Transport implements SmbConstants {
                         throw new TransportException(ie);
                     } catch (Throwable th) {
                         this.response_map.remove(req);
+                    } finally {
+                        releaseSlot();
                     }
                 }
             } finally {
@@ -0,0 +1,73 @@
+package jcifs.smb;
+
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+class SmbWriteBehind {
+    private final int depth;
+    private final SmbFile file;
+    private final LinkedList<Future<Long>> pending = new LinkedList();
+
+    SmbWriteBehind(SmbFile file, int depth) {
+        this.file = file;
+        this.depth = depth;
+    }
+
+    void write(final int fid, final long offset, byte[] b, int off, final int len) throws SmbException {
+        while (this.pending.size() >= this.depth) {
+            complete((Future) this.pending.removeFirst());
+        }
+        final byte[] buf = BufferCache.getBuffer(len);
+        System.arraycopy(b, off, buf, 0, len);
+        this.pending.add(SmbReadAhead.IO_EXECUTOR.submit(new Callable<Long>() {
+            public Long call() throws SmbException {
+                try {
+                    SmbComWriteAndXResponse response = new SmbComWriteAndXResponse();
+                    SmbWriteBehind.this.file.send(new SmbComWriteAndX(fid, offset, 0, buf, 0, len, null), response);
+                    if (response.count == ((long) len)) {
+                        return Long.valueOf(response.count);
+                    }
+                    throw new SmbException("Short write at offset " + offset + ": " + response.count + " of " + len + " bytes");
+                } finally {
+                    BufferCache.releaseBuffer(buf);
+                }
+            }
+        }));
+    }
+
+    void flush() throws SmbException {
+        SmbException failure = null;
+        while (!this.pending.isEmpty()) {
+            try {
+                complete((Future) this.pending.removeFirst());
+            } catch (SmbException se) {
+                if (failure == null) {
+                    failure = se;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    boolean isEmpty() {
+        return this.pending.isEmpty();
+    }
+
+    private void complete(Future<Long> future) throws SmbException {
+        try {
+            future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SmbException("Interrupted while waiting for write-behind", ie);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof SmbException) {
+                throw ((SmbException) ee.getCause());
+            }
+            throw new SmbException("Write-behind failed", ee.getCause());
+        }
+    }
+}
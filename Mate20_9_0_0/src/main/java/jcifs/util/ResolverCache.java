@@ -0,0 +1,254 @@
+package jcifs.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import jcifs.Config;
+
+public class ResolverCache<K, V> {
+    public static final long FOREVER = -1;
+    public static final int REFRESH_AHEAD = Config.getInt("jcifs.resolver.refreshAhead", 0);
+    private static final ThreadPoolExecutor REFRESHER = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue(), new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "JCIFS-ResolverRefresh");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private final AtomicLong coalesced = new AtomicLong();
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap();
+    private final AtomicLong hits = new AtomicLong();
+    private final ConcurrentHashMap<K, FutureTask<V>> inflight = new ConcurrentHashMap();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final long negativeTtl;
+    private final int refreshAhead;
+    private final AtomicLong refreshes = new AtomicLong();
+    private final long ttl;
+
+    public interface Loader<K, V> {
+        V load(K k) throws IOException;
+    }
+
+    static final class Entry<K, V> {
+        final long expiration;
+        final Loader<K, V> loader;
+        final long refreshAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        final V value;
+
+        Entry(V value, long expiration, long refreshAt, Loader<K, V> loader) {
+            this.value = value;
+            this.expiration = expiration;
+            this.refreshAt = refreshAt;
+            this.loader = loader;
+        }
+
+        boolean isValid(long now) {
+            return this.expiration < 0 || now < this.expiration;
+        }
+    }
+
+    static {
+        REFRESHER.allowCoreThreadTimeOut(true);
+    }
+
+    public ResolverCache(long ttl, long negativeTtl, int refreshAhead) {
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.refreshAhead = refreshAhead;
+    }
+
+    public V get(K key, Loader<K, V> loader) throws IOException {
+        long now = System.currentTimeMillis();
+        Entry<K, V> entry = (Entry) this.entries.get(key);
+        if (entry != null) {
+            if (entry.isValid(now)) {
+                if (entry.value == null) {
+                    this.negativeHits.incrementAndGet();
+                    return null;
+                }
+                this.hits.incrementAndGet();
+                if (entry.refreshAt >= 0 && now >= entry.refreshAt && entry.refreshing.compareAndSet(false, true)) {
+                    refresh(key, entry);
+                }
+                return entry.value;
+            }
+            this.entries.remove(key, entry);
+        }
+        this.misses.incrementAndGet();
+        return load(key, loader);
+    }
+
+    public V getIfPresent(K key) {
+        Entry<K, V> entry = (Entry) this.entries.get(key);
+        if (entry == null || !entry.isValid(System.currentTimeMillis())) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        store(key, value, null);
+    }
+
+    public void put(K key, V value, long expiration) {
+        this.entries.put(key, new Entry(value, expiration, -1, null));
+    }
+
+    public void remove(K key) {
+        this.entries.remove(key);
+    }
+
+    public void clear() {
+        this.entries.clear();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    public long getNegativeHitCount() {
+        return this.negativeHits.get();
+    }
+
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    public long getCoalescedCount() {
+        return this.coalesced.get();
+    }
+
+    public long getRefreshCount() {
+        return this.refreshes.get();
+    }
+
+    public int getHitRate() {
+        long hit = this.hits.get() + this.negativeHits.get();
+        long total = hit + this.misses.get();
+        return total != 0 ? (int) ((100 * hit) / total) : 0;
+    }
+
+    private V load(K key, Loader<K, V> loader) throws IOException {
+        FutureTask<V> task = newLoadTask(key, loader);
+        FutureTask<V> existing = (FutureTask) this.inflight.putIfAbsent(key, task);
+        if (existing != null) {
+            this.coalesced.incrementAndGet();
+            return await(existing);
+        }
+        try {
+            task.run();
+            V value = await(task);
+            store(key, value, loader);
+            return value;
+        } finally {
+            this.inflight.remove(key, task);
+        }
+    }
+
+    private boolean reload(K key, Entry<K, V> entry) throws IOException {
+        FutureTask<V> task = newLoadTask(key, entry.loader);
+        if (this.inflight.putIfAbsent(key, task) != null) {
+            return false;
+        }
+        try {
+            task.run();
+            V value = await(task);
+            if (value == null) {
+                return false;
+            }
+            store(key, value, entry.loader);
+            return true;
+        } finally {
+            this.inflight.remove(key, task);
+        }
+    }
+
+    private FutureTask<V> newLoadTask(final K key, final Loader<K, V> loader) {
+        return new FutureTask(new Callable<V>() {
+            public V call() throws IOException {
+                return loader.load(key);
+            }
+        });
+    }
+
+    private void refresh(final K key, final Entry<K, V> entry) {
+        this.refreshes.incrementAndGet();
+        REFRESHER.execute(new Runnable() {
+            public void run() {
+                boolean replaced = false;
+                try {
+                    replaced = ResolverCache.this.reload(key, entry);
+                } catch (IOException ioe) {
+                    LogStream log = LogStream.getInstance();
+                    if (LogStream.level >= 3) {
+                        log.println("refresh failed for " + key + ": " + ioe.getMessage());
+                    }
+                } catch (RuntimeException re) {
+                    LogStream log2 = LogStream.getInstance();
+                    if (LogStream.level >= 3) {
+                        log2.println("refresh failed for " + key + ": " + re);
+                    }
+                } finally {
+                    if (!replaced) {
+                        entry.refreshing.set(false);
+                    }
+                }
+            }
+        });
+    }
+
+    private void store(K key, V value, Loader<K, V> loader) {
+        long period = value != null ? this.ttl : this.negativeTtl;
+        if (period == 0) {
+            this.entries.remove(key);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiration = -1;
+        long refreshAt = -1;
+        if (period > 0) {
+            expiration = now + period;
+            if (value != null && loader != null && this.refreshAhead > 0 && this.refreshAhead < 100) {
+                refreshAt = ((((long) this.refreshAhead) * period) / 100) + now;
+            }
+        }
+        this.entries.put(key, new Entry(value, expiration, refreshAt, loader));
+    }
+
+    private V await(FutureTask<V> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while resolving");
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof IOException) {
+                throw ((IOException) cause);
+            } else if (cause instanceof RuntimeException) {
+                throw ((RuntimeException) cause);
+            } else if (cause instanceof Error) {
+                throw ((Error) cause);
+            } else {
+                IOException ioe = new IOException(cause.getMessage());
+                ioe.initCause(cause);
+                throw ioe;
+            }
+        }
+    }
+}
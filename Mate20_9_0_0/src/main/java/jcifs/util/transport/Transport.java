@@ -8,6 +8,8 @@ import jcifs.util.LogStream;
 public abstract class Transport implements Runnable {
     static int id = 0;
     static LogStream log = LogStream.getInstance();
+    private int in_flight = 0;
+    private int max_outstanding = 0;
     String name;
     protected HashMap response_map;
     int state = 0;
@@ -48,7 +50,54 @@ public abstract class Transport implements Runnable {
         return i;
     }
 
+    protected synchronized void setMaxOutstanding(int max) {
+        this.max_outstanding = max > 0 ? max : 0;
+        notifyAll();
+    }
+
+    public synchronized boolean isPipelined() {
+        return this.max_outstanding > 0;
+    }
+
+    public synchronized int getOutstandingCount() {
+        return this.in_flight;
+    }
+
     public synchronized void sendrecv(Request request, Response response, long timeout) throws IOException {
+        if (this.max_outstanding <= 0) {
+            sendrecv0(request, response, timeout);
+            return;
+        }
+        acquireSlot(request, timeout);
+        try {
+            sendrecv0(request, response, timeout);
+        } finally {
+            releaseSlot();
+        }
+    }
+
+    protected synchronized void acquireSlot(Request request, long timeout) throws IOException {
+        long expiration = System.currentTimeMillis() + timeout;
+        while (this.max_outstanding > 0 && this.in_flight >= this.max_outstanding) {
+            long remaining = expiration - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TransportException(this.name + " timedout waiting for an outstanding request slot for " + request);
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException ie) {
+                throw new TransportException(ie);
+            }
+        }
+        this.in_flight++;
+    }
+
+    protected synchronized void releaseSlot() {
+        this.in_flight--;
+        notifyAll();
+    }
+
+    private void sendrecv0(Request request, Response response, long timeout) throws IOException {
         makeKey(request);
         response.isReceived = false;
         try {
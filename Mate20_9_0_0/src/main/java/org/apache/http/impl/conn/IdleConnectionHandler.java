@@ -1,9 +1,10 @@
 package org.apache.http.impl.conn;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -11,7 +12,7 @@ import org.apache.http.HttpConnection;
 
 @Deprecated
 public class IdleConnectionHandler {
-    private final Map<HttpConnection, TimeValues> connectionToTimes = new HashMap();
+    private final Map<HttpConnection, TimeValues> connectionToTimes = new ConcurrentHashMap();
     private final Log log = LogFactory.getLog(getClass());
 
     private static class TimeValues {
@@ -66,10 +67,12 @@ public class IdleConnectionHandler {
             stringBuilder.append(idleTimeout);
             log.debug(stringBuilder.toString());
         }
-        Iterator<HttpConnection> connectionIter = this.connectionToTimes.keySet().iterator();
+        Iterator<Entry<HttpConnection, TimeValues>> connectionIter = this.connectionToTimes.entrySet().iterator();
         while (connectionIter.hasNext()) {
-            HttpConnection conn = (HttpConnection) connectionIter.next();
-            Long connectionTime = Long.valueOf(((TimeValues) this.connectionToTimes.get(conn)).timeAdded);
+            Entry<HttpConnection, TimeValues> entry = (Entry) connectionIter.next();
+            HttpConnection conn = (HttpConnection) entry.getKey();
+            TimeValues times = (TimeValues) entry.getValue();
+            Long connectionTime = Long.valueOf(times.timeAdded);
             if (connectionTime.longValue() <= idleTimeout) {
                 if (this.log.isDebugEnabled()) {
                     Log log2 = this.log;
@@ -78,11 +81,12 @@ public class IdleConnectionHandler {
                     stringBuilder2.append(connectionTime);
                     log2.debug(stringBuilder2.toString());
                 }
-                connectionIter.remove();
-                try {
-                    conn.close();
-                } catch (IOException ex) {
-                    this.log.debug("I/O error closing connection", ex);
+                if (this.connectionToTimes.remove(conn, times)) {
+                    try {
+                        conn.close();
+                    } catch (IOException ex) {
+                        this.log.debug("I/O error closing connection", ex);
+                    }
                 }
             }
         }
@@ -97,10 +101,11 @@ public class IdleConnectionHandler {
             stringBuilder.append(now);
             log.debug(stringBuilder.toString());
         }
-        Iterator<HttpConnection> connectionIter = this.connectionToTimes.keySet().iterator();
+        Iterator<Entry<HttpConnection, TimeValues>> connectionIter = this.connectionToTimes.entrySet().iterator();
         while (connectionIter.hasNext()) {
-            HttpConnection conn = (HttpConnection) connectionIter.next();
-            TimeValues times = (TimeValues) this.connectionToTimes.get(conn);
+            Entry<HttpConnection, TimeValues> entry = (Entry) connectionIter.next();
+            HttpConnection conn = (HttpConnection) entry.getKey();
+            TimeValues times = (TimeValues) entry.getValue();
             if (times.timeExpires <= now) {
                 if (this.log.isDebugEnabled()) {
                     Log log2 = this.log;
@@ -109,11 +114,12 @@ public class IdleConnectionHandler {
                     stringBuilder2.append(times.timeExpires);
                     log2.debug(stringBuilder2.toString());
                 }
-                connectionIter.remove();
-                try {
-                    conn.close();
-                } catch (IOException ex) {
-                    this.log.debug("I/O error closing connection", ex);
+                if (this.connectionToTimes.remove(conn, times)) {
+                    try {
+                        conn.close();
+                    } catch (IOException ex) {
+                        this.log.debug("I/O error closing connection", ex);
+                    }
                 }
             }
         }
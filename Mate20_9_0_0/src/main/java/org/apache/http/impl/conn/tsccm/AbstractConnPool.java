@@ -42,7 +42,7 @@ public abstract class AbstractConnPool implements RefQueueHandler {
         if (this.refQueue == null) {
             this.poolLock.lock();
             try {
-                if (this.numConnections <= 0) {
+                if (getConnectionsInPool() <= 0) {
                     this.refQueue = new ReferenceQueue();
                     this.refWorker = new RefQueueWorker(this.refQueue, this);
                     Thread t = new Thread(this.refWorker);
@@ -63,6 +63,15 @@ public abstract class AbstractConnPool implements RefQueueHandler {
         }
     }
 
+    public int getConnectionsInPool() {
+        this.poolLock.lock();
+        try {
+            return this.numConnections;
+        } finally {
+            this.poolLock.unlock();
+        }
+    }
+
     public final BasicPoolEntry getEntry(HttpRoute route, Object state, long timeout, TimeUnit tunit) throws ConnectionPoolTimeoutException, InterruptedException {
         return requestPoolEntry(route, state).getPoolEntry(timeout, tunit);
     }
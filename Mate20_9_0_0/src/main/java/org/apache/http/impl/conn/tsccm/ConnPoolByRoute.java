@@ -1,12 +1,15 @@
 package org.apache.http.impl.conn.tsccm;
 
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -25,6 +28,8 @@ public class ConnPoolByRoute extends AbstractConnPool {
     protected final int maxTotalConnections;
     protected final ClientConnectionOperator operator;
     protected final Map<HttpRoute, RouteSpecificPool> routeToPool;
+    private final AtomicInteger totalConnections = new AtomicInteger(0);
+    private final AtomicInteger waitingCount = new AtomicInteger(0);
     protected Queue<WaitingThread> waitingThreads;
 
     public ConnPoolByRoute(ClientConnectionOperator operator, HttpParams params) {
@@ -33,6 +38,7 @@ public class ConnPoolByRoute extends AbstractConnPool {
             this.freeConnections = createFreeConnQueue();
             this.waitingThreads = createWaitingThreadQueue();
             this.routeToPool = createRouteToPoolMap();
+            this.issuedConnections = Collections.newSetFromMap(new ConcurrentHashMap());
             this.maxTotalConnections = ConnManagerParams.getMaxTotalConnections(params);
             this.connPerRoute = ConnManagerParams.getMaxConnectionsPerRoute(params);
             return;
@@ -41,7 +47,7 @@ public class ConnPoolByRoute extends AbstractConnPool {
     }
 
     protected Queue<BasicPoolEntry> createFreeConnQueue() {
-        return new LinkedList();
+        return new ConcurrentLinkedQueue();
     }
 
     protected Queue<WaitingThread> createWaitingThreadQueue() {
@@ -49,7 +55,7 @@ public class ConnPoolByRoute extends AbstractConnPool {
     }
 
     protected Map<HttpRoute, RouteSpecificPool> createRouteToPoolMap() {
-        return new HashMap();
+        return new ConcurrentHashMap();
     }
 
     protected RouteSpecificPool newRouteSpecificPool(HttpRoute route) {
@@ -61,33 +67,25 @@ public class ConnPoolByRoute extends AbstractConnPool {
     }
 
     protected RouteSpecificPool getRoutePool(HttpRoute route, boolean create) {
-        this.poolLock.lock();
-        try {
-            RouteSpecificPool rospl = (RouteSpecificPool) this.routeToPool.get(route);
-            if (rospl == null && create) {
-                rospl = newRouteSpecificPool(route);
-                this.routeToPool.put(route, rospl);
-            }
-            this.poolLock.unlock();
+        RouteSpecificPool rospl = (RouteSpecificPool) this.routeToPool.get(route);
+        if (rospl != null || !create) {
             return rospl;
-        } catch (Throwable th) {
-            this.poolLock.unlock();
         }
+        RouteSpecificPool created = newRouteSpecificPool(route);
+        rospl = (RouteSpecificPool) this.routeToPool.putIfAbsent(route, created);
+        return rospl != null ? rospl : created;
     }
 
     public int getConnectionsInPool(HttpRoute route) {
-        this.poolLock.lock();
-        int i = 0;
-        try {
-            RouteSpecificPool rospl = getRoutePool(route, false);
-            if (rospl != null) {
-                i = rospl.getEntryCount();
-            }
-            this.poolLock.unlock();
-            return i;
-        } catch (Throwable th) {
-            this.poolLock.unlock();
+        RouteSpecificPool rospl = getRoutePool(route, false);
+        if (rospl != null) {
+            return rospl.getEntryCount();
         }
+        return 0;
+    }
+
+    public int getConnectionsInPool() {
+        return this.totalConnections.get();
     }
 
     public PoolEntryRequest requestPoolEntry(final HttpRoute route, final Object state) {
@@ -109,114 +107,105 @@ public class ConnPoolByRoute extends AbstractConnPool {
     }
 
     protected BasicPoolEntry getEntryBlocking(HttpRoute route, Object state, long timeout, TimeUnit tunit, WaitingThreadAborter aborter) throws ConnectionPoolTimeoutException, InterruptedException {
-        Date deadline;
-        Throwable th;
-        HttpRoute httpRoute = route;
-        Object obj = state;
-        long j = timeout;
-        if (j > 0) {
-            deadline = new Date(System.currentTimeMillis() + tunit.toMillis(j));
-        } else {
-            TimeUnit timeUnit = tunit;
-            deadline = null;
+        Date deadline = null;
+        if (timeout > 0) {
+            deadline = new Date(System.currentTimeMillis() + tunit.toMillis(timeout));
         }
+        RouteSpecificPool rospl = getRoutePool(route, true);
+        WaitingThread waitingThread = null;
         BasicPoolEntry entry = null;
-        this.poolLock.lock();
-        WaitingThreadAborter waitingThreadAborter;
-        try {
-            RouteSpecificPool rospl = getRoutePool(httpRoute, true);
-            WaitingThread waitingThread = null;
-            while (entry == null) {
-                if (this.isShutDown) {
-                    waitingThreadAborter = aborter;
-                    throw new IllegalStateException("Connection pool shut down.");
-                }
-                if (this.log.isDebugEnabled()) {
-                    Log log = this.log;
-                    StringBuilder stringBuilder = new StringBuilder();
-                    stringBuilder.append("Total connections kept alive: ");
-                    stringBuilder.append(this.freeConnections.size());
-                    log.debug(stringBuilder.toString());
-                    log = this.log;
-                    stringBuilder = new StringBuilder();
-                    stringBuilder.append("Total issued connections: ");
-                    stringBuilder.append(this.issuedConnections.size());
-                    log.debug(stringBuilder.toString());
-                    log = this.log;
-                    stringBuilder = new StringBuilder();
-                    stringBuilder.append("Total allocated connection: ");
-                    stringBuilder.append(this.numConnections);
-                    stringBuilder.append(" out of ");
-                    stringBuilder.append(this.maxTotalConnections);
-                    log.debug(stringBuilder.toString());
-                }
-                entry = getFreeEntry(rospl, obj);
-                if (entry != null) {
-                    break;
-                }
-                Log log2;
-                StringBuilder stringBuilder2;
-                boolean hasCapacity = rospl.getCapacity() > 0;
-                if (this.log.isDebugEnabled()) {
-                    log2 = this.log;
-                    stringBuilder2 = new StringBuilder();
-                    stringBuilder2.append("Available capacity: ");
-                    stringBuilder2.append(rospl.getCapacity());
-                    stringBuilder2.append(" out of ");
-                    stringBuilder2.append(rospl.getMaxEntries());
-                    stringBuilder2.append(" [");
-                    stringBuilder2.append(httpRoute);
-                    stringBuilder2.append("][");
-                    stringBuilder2.append(obj);
-                    stringBuilder2.append("]");
-                    log2.debug(stringBuilder2.toString());
-                }
-                if (hasCapacity && this.numConnections < this.maxTotalConnections) {
-                    entry = createEntry(rospl, this.operator);
-                } else if (!hasCapacity || this.freeConnections.isEmpty()) {
+        while (entry == null) {
+            if (this.isShutDown) {
+                throw new IllegalStateException("Connection pool shut down.");
+            }
+            if (this.log.isDebugEnabled()) {
+                Log log = this.log;
+                StringBuilder stringBuilder = new StringBuilder();
+                stringBuilder.append("Total connections kept alive: ");
+                stringBuilder.append(this.freeConnections.size());
+                log.debug(stringBuilder.toString());
+                log = this.log;
+                stringBuilder = new StringBuilder();
+                stringBuilder.append("Total issued connections: ");
+                stringBuilder.append(this.issuedConnections.size());
+                log.debug(stringBuilder.toString());
+                log = this.log;
+                stringBuilder = new StringBuilder();
+                stringBuilder.append("Total allocated connection: ");
+                stringBuilder.append(this.totalConnections.get());
+                stringBuilder.append(" out of ");
+                stringBuilder.append(this.maxTotalConnections);
+                log.debug(stringBuilder.toString());
+            }
+            entry = leaseEntry(rospl, state);
+            if (entry == null) {
+                if (rospl.getCapacity() <= 0 || this.freeConnections.isEmpty()) {
                     if (this.log.isDebugEnabled()) {
-                        log2 = this.log;
-                        stringBuilder2 = new StringBuilder();
+                        Log log2 = this.log;
+                        StringBuilder stringBuilder2 = new StringBuilder();
                         stringBuilder2.append("Need to wait for connection [");
-                        stringBuilder2.append(httpRoute);
+                        stringBuilder2.append(route);
                         stringBuilder2.append("][");
-                        stringBuilder2.append(obj);
+                        stringBuilder2.append(state);
                         stringBuilder2.append("]");
                         log2.debug(stringBuilder2.toString());
                     }
-                    if (waitingThread == null) {
-                        waitingThread = newWaitingThread(this.poolLock.newCondition(), rospl);
-                        try {
+                    this.poolLock.lock();
+                    try {
+                        if (waitingThread == null) {
+                            waitingThread = newWaitingThread(this.poolLock.newCondition(), rospl);
                             aborter.setWaitingThread(waitingThread);
-                        } catch (Throwable th2) {
-                            th = th2;
                         }
-                    } else {
-                        waitingThreadAborter = aborter;
-                    }
-                    rospl.queueThread(waitingThread);
-                    this.waitingThreads.add(waitingThread);
-                    boolean success = waitingThread.await(deadline);
-                    rospl.removeThread(waitingThread);
-                    this.waitingThreads.remove(waitingThread);
-                    if (!(success || deadline == null || deadline.getTime() > System.currentTimeMillis())) {
-                        throw new ConnectionPoolTimeoutException("Timeout waiting for connection");
+                        this.waitingCount.incrementAndGet();
+                        try {
+                            entry = leaseEntry(rospl, state);
+                            if (entry == null && (rospl.getCapacity() <= 0 || this.freeConnections.isEmpty())) {
+                                rospl.queueThread(waitingThread);
+                                this.waitingThreads.add(waitingThread);
+                                try {
+                                    boolean success = waitingThread.await(deadline);
+                                    if (!(success || deadline == null || deadline.getTime() > System.currentTimeMillis())) {
+                                        throw new ConnectionPoolTimeoutException("Timeout waiting for connection");
+                                    }
+                                } finally {
+                                    rospl.removeThread(waitingThread);
+                                    this.waitingThreads.remove(waitingThread);
+                                }
+                            }
+                        } finally {
+                            this.waitingCount.decrementAndGet();
+                        }
+                    } finally {
+                        this.poolLock.unlock();
                     }
                 } else {
                     deleteLeastUsedEntry();
-                    entry = createEntry(rospl, this.operator);
                 }
-                waitingThreadAborter = aborter;
             }
-            waitingThreadAborter = aborter;
-            this.poolLock.unlock();
+        }
+        return entry;
+    }
+
+    private BasicPoolEntry leaseEntry(RouteSpecificPool rospl, Object state) {
+        BasicPoolEntry entry = getFreeEntry(rospl, state);
+        if (entry != null) {
             return entry;
-        } catch (Throwable th3) {
-            th = th3;
-            waitingThreadAborter = aborter;
-            this.poolLock.unlock();
-            throw th;
         }
+        if (this.log.isDebugEnabled()) {
+            Log log = this.log;
+            StringBuilder stringBuilder = new StringBuilder();
+            stringBuilder.append("Available capacity: ");
+            stringBuilder.append(rospl.getCapacity());
+            stringBuilder.append(" out of ");
+            stringBuilder.append(rospl.getMaxEntries());
+            stringBuilder.append(" [");
+            stringBuilder.append(rospl.getRoute());
+            stringBuilder.append("][");
+            stringBuilder.append(state);
+            stringBuilder.append("]");
+            log.debug(stringBuilder.toString());
+        }
+        return createEntry(rospl, this.operator);
     }
 
     public void freeEntry(BasicPoolEntry entry, boolean reusable, long validDuration, TimeUnit timeUnit) {
@@ -231,90 +220,88 @@ public class ConnPoolByRoute extends AbstractConnPool {
             stringBuilder.append("]");
             log.debug(stringBuilder.toString());
         }
-        this.poolLock.lock();
-        try {
-            if (this.isShutDown) {
+        if (this.isShutDown) {
+            closeConnection(entry.getConnection());
+            return;
+        }
+        this.issuedConnections.remove(entry.getWeakRef());
+        RouteSpecificPool rospl = getRoutePool(route, true);
+        if (reusable) {
+            this.idleConnHandler.add(entry.getConnection(), validDuration, timeUnit);
+            this.freeConnections.add(entry);
+            rospl.freeEntry(entry);
+            if (this.isShutDown && rospl.deleteEntry(entry)) {
                 closeConnection(entry.getConnection());
                 return;
             }
-            this.issuedConnections.remove(entry.getWeakRef());
-            RouteSpecificPool rospl = getRoutePool(route, true);
-            if (reusable) {
-                rospl.freeEntry(entry);
-                this.freeConnections.add(entry);
-                this.idleConnHandler.add(entry.getConnection(), validDuration, timeUnit);
-            } else {
-                rospl.dropEntry();
-                this.numConnections--;
-            }
-            notifyWaitingThread(rospl);
-            this.poolLock.unlock();
-        } finally {
-            this.poolLock.unlock();
+        } else {
+            rospl.dropEntry();
+            this.totalConnections.decrementAndGet();
         }
+        signalWaitingThread(rospl);
     }
 
     protected BasicPoolEntry getFreeEntry(RouteSpecificPool rospl, Object state) {
-        BasicPoolEntry entry = null;
-        this.poolLock.lock();
-        boolean done = false;
-        while (!done) {
-            try {
-                entry = rospl.allocEntry(state);
-                Log log;
-                StringBuilder stringBuilder;
-                if (entry != null) {
-                    if (this.log.isDebugEnabled()) {
-                        log = this.log;
-                        stringBuilder = new StringBuilder();
-                        stringBuilder.append("Getting free connection [");
-                        stringBuilder.append(rospl.getRoute());
-                        stringBuilder.append("][");
-                        stringBuilder.append(state);
-                        stringBuilder.append("]");
-                        log.debug(stringBuilder.toString());
-                    }
-                    this.freeConnections.remove(entry);
-                    if (this.idleConnHandler.remove(entry.getConnection())) {
-                        this.issuedConnections.add(entry.getWeakRef());
-                        done = true;
-                    } else {
-                        if (this.log.isDebugEnabled()) {
-                            Log log2 = this.log;
-                            StringBuilder stringBuilder2 = new StringBuilder();
-                            stringBuilder2.append("Closing expired free connection [");
-                            stringBuilder2.append(rospl.getRoute());
-                            stringBuilder2.append("][");
-                            stringBuilder2.append(state);
-                            stringBuilder2.append("]");
-                            log2.debug(stringBuilder2.toString());
-                        }
-                        closeConnection(entry.getConnection());
-                        rospl.dropEntry();
-                        this.numConnections--;
-                    }
-                } else {
-                    done = true;
-                    if (this.log.isDebugEnabled()) {
-                        log = this.log;
-                        stringBuilder = new StringBuilder();
-                        stringBuilder.append("No free connections [");
-                        stringBuilder.append(rospl.getRoute());
-                        stringBuilder.append("][");
-                        stringBuilder.append(state);
-                        stringBuilder.append("]");
-                        log.debug(stringBuilder.toString());
-                    }
+        while (true) {
+            BasicPoolEntry entry = rospl.allocEntry(state);
+            if (entry != null) {
+                if (this.log.isDebugEnabled()) {
+                    Log log = this.log;
+                    StringBuilder stringBuilder = new StringBuilder();
+                    stringBuilder.append("Getting free connection [");
+                    stringBuilder.append(rospl.getRoute());
+                    stringBuilder.append("][");
+                    stringBuilder.append(state);
+                    stringBuilder.append("]");
+                    log.debug(stringBuilder.toString());
+                }
+                this.freeConnections.remove(entry);
+                if (this.idleConnHandler.remove(entry.getConnection())) {
+                    this.issuedConnections.add(entry.getWeakRef());
+                    return entry;
                 }
-            } catch (Throwable th) {
-                this.poolLock.unlock();
+                if (this.log.isDebugEnabled()) {
+                    Log log2 = this.log;
+                    StringBuilder stringBuilder2 = new StringBuilder();
+                    stringBuilder2.append("Closing expired free connection [");
+                    stringBuilder2.append(rospl.getRoute());
+                    stringBuilder2.append("][");
+                    stringBuilder2.append(state);
+                    stringBuilder2.append("]");
+                    log2.debug(stringBuilder2.toString());
+                }
+                closeConnection(entry.getConnection());
+                rospl.dropEntry();
+                this.totalConnections.decrementAndGet();
+            } else {
+                if (this.log.isDebugEnabled()) {
+                    Log log3 = this.log;
+                    StringBuilder stringBuilder3 = new StringBuilder();
+                    stringBuilder3.append("No free connections [");
+                    stringBuilder3.append(rospl.getRoute());
+                    stringBuilder3.append("][");
+                    stringBuilder3.append(state);
+                    stringBuilder3.append("]");
+                    log3.debug(stringBuilder3.toString());
+                }
+                return null;
             }
         }
-        this.poolLock.unlock();
-        return entry;
     }
 
     protected BasicPoolEntry createEntry(RouteSpecificPool rospl, ClientConnectionOperator op) {
+        if (!rospl.reserveEntry()) {
+            return null;
+        }
+        int i;
+        do {
+            i = this.totalConnections.get();
+            if (i >= this.maxTotalConnections) {
+                rospl.dropEntry();
+                signalWaitingThread(rospl);
+                return null;
+            }
+        } while (!this.totalConnections.compareAndSet(i, i + 1));
         if (this.log.isDebugEnabled()) {
             Log log = this.log;
             StringBuilder stringBuilder = new StringBuilder();
@@ -324,15 +311,9 @@ public class ConnPoolByRoute extends AbstractConnPool {
             log.debug(stringBuilder.toString());
         }
         BasicPoolEntry entry = new BasicPoolEntry(op, rospl.getRoute(), this.refQueue);
-        this.poolLock.lock();
-        try {
-            rospl.createdEntry(entry);
-            this.numConnections++;
-            this.issuedConnections.add(entry.getWeakRef());
-            return entry;
-        } finally {
-            this.poolLock.unlock();
-        }
+        rospl.createdEntry(entry);
+        this.issuedConnections.add(entry.getWeakRef());
+        return entry;
     }
 
     protected void deleteEntry(BasicPoolEntry entry) {
@@ -347,103 +328,92 @@ public class ConnPoolByRoute extends AbstractConnPool {
             stringBuilder.append("]");
             log.debug(stringBuilder.toString());
         }
-        this.poolLock.lock();
-        try {
-            closeConnection(entry.getConnection());
-            RouteSpecificPool rospl = getRoutePool(route, true);
-            rospl.deleteEntry(entry);
-            this.numConnections--;
-            if (rospl.isUnused()) {
-                this.routeToPool.remove(route);
-            }
-            this.idleConnHandler.remove(entry.getConnection());
-        } finally {
-            this.poolLock.unlock();
+        removeFreeEntry(entry);
+    }
+
+    private boolean removeFreeEntry(BasicPoolEntry entry) {
+        if (!getRoutePool(entry.getPlannedRoute(), true).deleteEntry(entry)) {
+            return false;
         }
+        closeConnection(entry.getConnection());
+        this.totalConnections.decrementAndGet();
+        this.idleConnHandler.remove(entry.getConnection());
+        return true;
     }
 
     protected void deleteLeastUsedEntry() {
-        try {
-            this.poolLock.lock();
-            BasicPoolEntry entry = (BasicPoolEntry) this.freeConnections.remove();
-            if (entry != null) {
-                deleteEntry(entry);
-            } else if (this.log.isDebugEnabled()) {
-                this.log.debug("No free connection to delete.");
+        while (true) {
+            BasicPoolEntry entry = (BasicPoolEntry) this.freeConnections.poll();
+            if (entry == null) {
+                if (this.log.isDebugEnabled()) {
+                    this.log.debug("No free connection to delete.");
+                }
+                return;
+            } else if (removeFreeEntry(entry)) {
+                if (this.log.isDebugEnabled()) {
+                    Log log = this.log;
+                    StringBuilder stringBuilder = new StringBuilder();
+                    stringBuilder.append("Deleted least used connection [");
+                    stringBuilder.append(entry.getPlannedRoute());
+                    stringBuilder.append("]");
+                    log.debug(stringBuilder.toString());
+                }
+                return;
             }
-            this.poolLock.unlock();
-        } catch (Throwable th) {
-            this.poolLock.unlock();
         }
     }
 
     protected void handleLostEntry(HttpRoute route) {
-        this.poolLock.lock();
-        try {
-            RouteSpecificPool rospl = getRoutePool(route, true);
-            rospl.dropEntry();
-            if (rospl.isUnused()) {
-                this.routeToPool.remove(route);
-            }
-            this.numConnections--;
+        RouteSpecificPool rospl = getRoutePool(route, true);
+        rospl.dropEntry();
+        this.totalConnections.decrementAndGet();
+        notifyWaitingThread(rospl);
+    }
+
+    private void signalWaitingThread(RouteSpecificPool rospl) {
+        if (this.waitingCount.get() > 0) {
             notifyWaitingThread(rospl);
-        } finally {
-            this.poolLock.unlock();
         }
     }
 
-    /* JADX WARNING: Removed duplicated region for block: B:20:0x006f A:{Catch:{ all -> 0x003b }} */
-    /* Code decompiled incorrectly, please refer to instructions dump. */
     protected void notifyWaitingThread(RouteSpecificPool rospl) {
         WaitingThread waitingThread = null;
         this.poolLock.lock();
-        if (rospl != null) {
-            try {
-                if (rospl.hasThread()) {
-                    if (this.log.isDebugEnabled()) {
-                        Log log = this.log;
-                        StringBuilder stringBuilder = new StringBuilder();
-                        stringBuilder.append("Notifying thread waiting on pool [");
-                        stringBuilder.append(rospl.getRoute());
-                        stringBuilder.append("]");
-                        log.debug(stringBuilder.toString());
-                    }
-                    waitingThread = rospl.nextThread();
-                    if (waitingThread != null) {
-                        waitingThread.wakeup();
-                    }
-                    this.poolLock.unlock();
+        try {
+            if (rospl != null && rospl.hasThread()) {
+                if (this.log.isDebugEnabled()) {
+                    Log log = this.log;
+                    StringBuilder stringBuilder = new StringBuilder();
+                    stringBuilder.append("Notifying thread waiting on pool [");
+                    stringBuilder.append(rospl.getRoute());
+                    stringBuilder.append("]");
+                    log.debug(stringBuilder.toString());
+                }
+                waitingThread = rospl.nextThread();
+            } else if (!this.waitingThreads.isEmpty()) {
+                if (this.log.isDebugEnabled()) {
+                    this.log.debug("Notifying thread waiting on any pool");
                 }
-            } catch (Throwable th) {
-                this.poolLock.unlock();
+                waitingThread = (WaitingThread) this.waitingThreads.remove();
+            } else if (this.log.isDebugEnabled()) {
+                this.log.debug("Notifying no-one, there are no waiting threads");
             }
-        }
-        if (!this.waitingThreads.isEmpty()) {
-            if (this.log.isDebugEnabled()) {
-                this.log.debug("Notifying thread waiting on any pool");
+            if (waitingThread != null) {
+                waitingThread.wakeup();
             }
-            waitingThread = (WaitingThread) this.waitingThreads.remove();
-        } else if (this.log.isDebugEnabled()) {
-            this.log.debug("Notifying no-one, there are no waiting threads");
-        }
-        if (waitingThread != null) {
+        } finally {
+            this.poolLock.unlock();
         }
-        this.poolLock.unlock();
     }
 
     public void deleteClosedConnections() {
-        this.poolLock.lock();
-        try {
-            Iterator<BasicPoolEntry> iter = this.freeConnections.iterator();
-            while (iter.hasNext()) {
-                BasicPoolEntry entry = (BasicPoolEntry) iter.next();
-                if (!entry.getConnection().isOpen()) {
-                    iter.remove();
-                    deleteEntry(entry);
-                }
+        Iterator<BasicPoolEntry> iter = this.freeConnections.iterator();
+        while (iter.hasNext()) {
+            BasicPoolEntry entry = (BasicPoolEntry) iter.next();
+            if (!entry.getConnection().isOpen()) {
+                iter.remove();
+                deleteEntry(entry);
             }
-        } finally {
-            this.poolLock.unlock();
         }
     }
 
@@ -451,11 +421,15 @@ public class ConnPoolByRoute extends AbstractConnPool {
         this.poolLock.lock();
         try {
             super.shutdown();
-            Iterator<BasicPoolEntry> ibpe = this.freeConnections.iterator();
-            while (ibpe.hasNext()) {
-                BasicPoolEntry entry = (BasicPoolEntry) ibpe.next();
-                ibpe.remove();
-                closeConnection(entry.getConnection());
+            this.freeConnections.clear();
+            for (RouteSpecificPool rospl : this.routeToPool.values()) {
+                while (true) {
+                    BasicPoolEntry entry = (BasicPoolEntry) rospl.freeEntries.pollFirst();
+                    if (entry == null) {
+                        break;
+                    }
+                    closeConnection(entry.getConnection());
+                }
             }
             Iterator<WaitingThread> iwth = this.waitingThreads.iterator();
             while (iwth.hasNext()) {
@@ -1,9 +1,11 @@
 package org.apache.http.impl.conn.tsccm;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.ListIterator;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.conn.routing.HttpRoute;
@@ -11,19 +13,19 @@ import org.apache.http.util.LangUtils;
 
 @Deprecated
 public class RouteSpecificPool {
-    protected final LinkedList<BasicPoolEntry> freeEntries;
+    protected final ConcurrentLinkedDeque<BasicPoolEntry> freeEntries;
     private final Log log = LogFactory.getLog(getClass());
     protected final int maxEntries;
-    protected int numEntries;
+    protected final AtomicInteger numEntries;
     protected final HttpRoute route;
     protected final Queue<WaitingThread> waitingThreads;
 
     public RouteSpecificPool(HttpRoute route, int maxEntries) {
         this.route = route;
         this.maxEntries = maxEntries;
-        this.freeEntries = new LinkedList();
+        this.freeEntries = new ConcurrentLinkedDeque();
         this.waitingThreads = new LinkedList();
-        this.numEntries = 0;
+        this.numEntries = new AtomicInteger(0);
     }
 
     public final HttpRoute getRoute() {
@@ -35,32 +37,29 @@ public class RouteSpecificPool {
     }
 
     public boolean isUnused() {
-        return this.numEntries < 1 && this.waitingThreads.isEmpty();
+        return this.numEntries.get() < 1 && this.waitingThreads.isEmpty();
     }
 
     public int getCapacity() {
-        return this.maxEntries - this.numEntries;
+        return this.maxEntries - this.numEntries.get();
     }
 
     public final int getEntryCount() {
-        return this.numEntries;
+        return this.numEntries.get();
     }
 
     public BasicPoolEntry allocEntry(Object state) {
-        if (!this.freeEntries.isEmpty()) {
-            ListIterator<BasicPoolEntry> it = this.freeEntries.listIterator(this.freeEntries.size());
-            while (it.hasPrevious()) {
-                BasicPoolEntry entry = (BasicPoolEntry) it.previous();
-                if (LangUtils.equals(state, entry.getState())) {
-                    it.remove();
-                    return entry;
-                }
+        Iterator<BasicPoolEntry> it = this.freeEntries.descendingIterator();
+        while (it.hasNext()) {
+            BasicPoolEntry entry = (BasicPoolEntry) it.next();
+            if (LangUtils.equals(state, entry.getState()) && this.freeEntries.removeLastOccurrence(entry)) {
+                return entry;
             }
         }
-        if (this.freeEntries.isEmpty()) {
+        BasicPoolEntry entry2 = (BasicPoolEntry) this.freeEntries.pollFirst();
+        if (entry2 == null) {
             return null;
         }
-        BasicPoolEntry entry2 = (BasicPoolEntry) this.freeEntries.remove();
         entry2.setState(null);
         try {
             entry2.getConnection().close();
@@ -71,25 +70,29 @@ public class RouteSpecificPool {
     }
 
     public void freeEntry(BasicPoolEntry entry) {
-        StringBuilder stringBuilder;
-        if (this.numEntries < 1) {
-            stringBuilder = new StringBuilder();
-            stringBuilder.append("No entry created for this pool. ");
-            stringBuilder.append(this.route);
-            throw new IllegalStateException(stringBuilder.toString());
-        } else if (this.numEntries > this.freeEntries.size()) {
-            this.freeEntries.add(entry);
-        } else {
-            stringBuilder = new StringBuilder();
-            stringBuilder.append("No entry allocated from this pool. ");
-            stringBuilder.append(this.route);
-            throw new IllegalStateException(stringBuilder.toString());
+        if (this.numEntries.get() >= 1) {
+            this.freeEntries.addLast(entry);
+            return;
         }
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("No entry created for this pool. ");
+        stringBuilder.append(this.route);
+        throw new IllegalStateException(stringBuilder.toString());
+    }
+
+    public boolean reserveEntry() {
+        int i;
+        do {
+            i = this.numEntries.get();
+            if (i >= this.maxEntries) {
+                return false;
+            }
+        } while (!this.numEntries.compareAndSet(i, i + 1));
+        return true;
     }
 
     public void createdEntry(BasicPoolEntry entry) {
         if (this.route.equals(entry.getPlannedRoute())) {
-            this.numEntries++;
             return;
         }
         StringBuilder stringBuilder = new StringBuilder();
@@ -101,19 +104,21 @@ public class RouteSpecificPool {
     }
 
     public boolean deleteEntry(BasicPoolEntry entry) {
-        boolean found = this.freeEntries.remove(entry);
+        boolean found = this.freeEntries.removeFirstOccurrence(entry);
         if (found) {
-            this.numEntries--;
+            this.numEntries.decrementAndGet();
         }
         return found;
     }
 
     public void dropEntry() {
-        if (this.numEntries >= 1) {
-            this.numEntries--;
-            return;
-        }
-        throw new IllegalStateException("There is no entry that could be dropped.");
+        int i;
+        do {
+            i = this.numEntries.get();
+            if (i < 1) {
+                throw new IllegalStateException("There is no entry that could be dropped.");
+            }
+        } while (!this.numEntries.compareAndSet(i, i - 1));
     }
 
     public void queueThread(WaitingThread wt) {
@@ -125,7 +130,7 @@ public class RouteSpecificPool {
     }
 
     public boolean hasThread() {
-        return this.waitingThreads.isEmpty() ^ 1;
+        return !this.waitingThreads.isEmpty();
     }
 
     public WaitingThread nextThread() {
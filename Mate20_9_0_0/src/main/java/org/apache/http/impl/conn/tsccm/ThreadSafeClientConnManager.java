@@ -146,11 +146,7 @@ public class ThreadSafeClientConnManager implements ClientConnectionManager {
     }
 
     public int getConnectionsInPool() {
-        int i;
-        synchronized (this.connectionPool) {
-            i = this.connectionPool.numConnections;
-        }
-        return i;
+        return this.connectionPool.getConnectionsInPool();
     }
 
     public void closeIdleConnections(long idleTimeout, TimeUnit tunit) {
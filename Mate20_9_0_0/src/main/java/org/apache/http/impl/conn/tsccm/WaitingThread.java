@@ -44,21 +44,20 @@ public class WaitingThread {
         } else {
             boolean success;
             this.waiter = Thread.currentThread();
-            if (deadline != null) {
-                try {
+            try {
+                if (deadline != null) {
                     success = this.cond.awaitUntil(deadline);
-                } catch (Throwable th) {
-                    this.waiter = null;
+                } else {
+                    this.cond.await();
+                    success = true;
                 }
-            } else {
-                this.cond.await();
-                success = true;
-            }
-            if (this.aborted) {
-                throw new InterruptedException("Operation interrupted");
+                if (this.aborted) {
+                    throw new InterruptedException("Operation interrupted");
+                }
+                return success;
+            } finally {
+                this.waiter = null;
             }
-            this.waiter = null;
-            return success;
         }
     }
 
@@ -0,0 +1,333 @@
+package org.apache.http.impl.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
+import org.apache.http.io.HttpTransportMetrics;
+import org.apache.http.io.SessionInputBuffer;
+import org.apache.http.params.HttpParams;
+import org.apache.http.params.HttpProtocolParams;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.ByteArrayBuffer;
+import org.apache.http.util.CharArrayBuffer;
+
+@Deprecated
+public class ChannelInputBuffer implements SessionInputBuffer, ReadableByteChannel {
+    private boolean ascii = true;
+    private ByteBuffer buffer;
+    private final ReadableByteChannel channel;
+    private String charset = "US-ASCII";
+    private final ByteArrayBuffer linebuffer;
+    private int maxLineLen = -1;
+    private final HttpTransportMetricsImpl metrics;
+
+    public ChannelInputBuffer(ReadableByteChannel channel, int buffersize, HttpParams params) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel may not be null");
+        } else if (buffersize <= 0) {
+            throw new IllegalArgumentException("Buffer size may not be negative or zero");
+        } else if (params != null) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(buffersize);
+            this.buffer.limit(0);
+            this.linebuffer = new ByteArrayBuffer(buffersize);
+            this.charset = HttpProtocolParams.getHttpElementCharset(params);
+            boolean z = this.charset.equalsIgnoreCase("US-ASCII") || this.charset.equalsIgnoreCase(HTTP.ASCII);
+            this.ascii = z;
+            this.maxLineLen = params.getIntParameter("http.connection.max-line-length", -1);
+            this.metrics = new HttpTransportMetricsImpl();
+        } else {
+            throw new IllegalArgumentException("HTTP parameters may not be null");
+        }
+    }
+
+    protected int fillBuffer() throws IOException {
+        if (this.buffer != null) {
+            this.buffer.compact();
+            try {
+                int l = this.channel.read(this.buffer);
+                if (l == -1) {
+                    return -1;
+                }
+                this.metrics.incrementBytesTransferred((long) l);
+                return l;
+            } finally {
+                this.buffer.flip();
+            }
+        }
+        throw new ClosedChannelException();
+    }
+
+    protected boolean hasBufferedData() {
+        return this.buffer != null && this.buffer.hasRemaining();
+    }
+
+    public int read() throws IOException {
+        while (!hasBufferedData()) {
+            if (fillBuffer() == -1) {
+                return -1;
+            }
+        }
+        return this.buffer.get() & 255;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (b == null) {
+            return 0;
+        }
+        if (!hasBufferedData() && this.buffer != null && len >= this.buffer.capacity()) {
+            return readDirect(ByteBuffer.wrap(b, off, len));
+        }
+        while (!hasBufferedData()) {
+            if (fillBuffer() == -1) {
+                return -1;
+            }
+        }
+        int chunk = Math.min(this.buffer.remaining(), len);
+        this.buffer.get(b, off, chunk);
+        return chunk;
+    }
+
+    public int read(byte[] b) throws IOException {
+        if (b == null) {
+            return 0;
+        }
+        return read(b, 0, b.length);
+    }
+
+    public int read(ByteBuffer dst) throws IOException {
+        if (dst == null) {
+            return 0;
+        }
+        if (!hasBufferedData() && this.buffer != null && dst.remaining() >= this.buffer.capacity()) {
+            return readDirect(dst);
+        }
+        while (!hasBufferedData()) {
+            if (fillBuffer() == -1) {
+                return -1;
+            }
+        }
+        int chunk = Math.min(this.buffer.remaining(), dst.remaining());
+        int limit = this.buffer.limit();
+        this.buffer.limit(this.buffer.position() + chunk);
+        dst.put(this.buffer);
+        this.buffer.limit(limit);
+        return chunk;
+    }
+
+    private int readDirect(ByteBuffer dst) throws IOException {
+        int l = this.channel.read(dst);
+        if (l > 0) {
+            this.metrics.incrementBytesTransferred((long) l);
+        }
+        return l;
+    }
+
+    public long transferTo(long count, WritableByteChannel target) throws IOException {
+        if (target == null) {
+            throw new IllegalArgumentException("Target channel may not be null");
+        } else if (this.buffer != null) {
+            long total = 0;
+            if (hasBufferedData() && count > 0) {
+                int limit = this.buffer.limit();
+                this.buffer.limit(this.buffer.position() + ((int) Math.min((long) this.buffer.remaining(), count)));
+                while (this.buffer.hasRemaining()) {
+                    total += (long) target.write(this.buffer);
+                }
+                this.buffer.limit(limit);
+            }
+            if (total >= count) {
+                return total;
+            }
+            if (target instanceof FileChannel) {
+                FileChannel fileChannel = (FileChannel) target;
+                while (total < count) {
+                    long position = fileChannel.position();
+                    long l = fileChannel.transferFrom(this.channel, position, count - total);
+                    if (l <= 0) {
+                        break;
+                    }
+                    fileChannel.position(position + l);
+                    this.metrics.incrementBytesTransferred(l);
+                    total += l;
+                }
+            } else {
+                while (total < count) {
+                    this.buffer.clear();
+                    this.buffer.limit((int) Math.min((long) this.buffer.capacity(), count - total));
+                    int l = this.channel.read(this.buffer);
+                    this.buffer.flip();
+                    if (l == -1) {
+                        break;
+                    }
+                    this.metrics.incrementBytesTransferred((long) l);
+                    while (this.buffer.hasRemaining()) {
+                        total += (long) target.write(this.buffer);
+                    }
+                }
+                this.buffer.clear();
+                this.buffer.limit(0);
+            }
+            return total;
+        } else {
+            throw new ClosedChannelException();
+        }
+    }
+
+    static long transfer(SessionInputBuffer in, long count, WritableByteChannel target) throws IOException {
+        if (in instanceof ChannelInputBuffer) {
+            return ((ChannelInputBuffer) in).transferTo(count, target);
+        }
+        byte[] b = new byte[((int) Math.min(count, 8192))];
+        ByteBuffer src = ByteBuffer.wrap(b);
+        long total = 0;
+        while (total < count) {
+            int l = in.read(b, 0, (int) Math.min((long) b.length, count - total));
+            if (l == -1) {
+                break;
+            }
+            src.clear();
+            src.limit(l);
+            while (src.hasRemaining()) {
+                target.write(src);
+            }
+            total += (long) l;
+        }
+        return total;
+    }
+
+    private int locateLF() {
+        int limit = this.buffer.limit();
+        for (int i = this.buffer.position(); i < limit; i++) {
+            if (this.buffer.get(i) == (byte) 10) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int readLine(CharArrayBuffer charbuffer) throws IOException {
+        if (charbuffer != null) {
+            this.linebuffer.clear();
+            int noRead = 0;
+            boolean retry = true;
+            while (retry) {
+                int i = hasBufferedData() ? locateLF() : -1;
+                if (i == -1) {
+                    if (hasBufferedData()) {
+                        this.linebuffer.append(this.buffer, this.buffer.position(), this.buffer.remaining());
+                        this.buffer.position(this.buffer.limit());
+                    }
+                    noRead = fillBuffer();
+                    if (noRead == -1) {
+                        retry = false;
+                    }
+                } else if (this.linebuffer.isEmpty()) {
+                    return lineFromReadBuffer(charbuffer, i);
+                } else {
+                    retry = false;
+                    this.linebuffer.append(this.buffer, this.buffer.position(), (i + 1) - this.buffer.position());
+                    this.buffer.position(i + 1);
+                }
+                if (this.maxLineLen > 0 && this.linebuffer.length() >= this.maxLineLen) {
+                    throw new IOException("Maximum line length limit exceeded");
+                }
+            }
+            if (noRead == -1 && this.linebuffer.isEmpty()) {
+                return -1;
+            }
+            return lineFromLineBuffer(charbuffer);
+        }
+        throw new IllegalArgumentException("Char array buffer may not be null");
+    }
+
+    private int lineFromLineBuffer(CharArrayBuffer charbuffer) throws IOException {
+        int l = this.linebuffer.length();
+        if (l > 0) {
+            if (this.linebuffer.byteAt(l - 1) == 10) {
+                l--;
+                this.linebuffer.setLength(l);
+            }
+            if (l > 0 && this.linebuffer.byteAt(l - 1) == 13) {
+                this.linebuffer.setLength(l - 1);
+            }
+        }
+        l = this.linebuffer.length();
+        if (this.ascii) {
+            charbuffer.append(this.linebuffer, 0, l);
+        } else {
+            charbuffer.append(new String(this.linebuffer.buffer(), 0, l, this.charset));
+        }
+        return l;
+    }
+
+    private int lineFromReadBuffer(CharArrayBuffer charbuffer, int pos) throws IOException {
+        int off = this.buffer.position();
+        this.buffer.position(pos + 1);
+        if (pos > off && this.buffer.get(pos - 1) == (byte) 13) {
+            pos--;
+        }
+        int len = pos - off;
+        if (this.ascii) {
+            charbuffer.append(this.buffer, off, len);
+        } else {
+            this.linebuffer.append(this.buffer, off, len);
+            charbuffer.append(new String(this.linebuffer.buffer(), 0, len, this.charset));
+        }
+        return len;
+    }
+
+    public String readLine() throws IOException {
+        CharArrayBuffer charbuffer = new CharArrayBuffer(64);
+        if (readLine(charbuffer) != -1) {
+            return charbuffer.toString();
+        }
+        return null;
+    }
+
+    public boolean isDataAvailable(int timeout) throws IOException {
+        if (hasBufferedData()) {
+            return true;
+        }
+        if (!(this.channel instanceof SelectableChannel) || this.buffer == null) {
+            return false;
+        }
+        SelectableChannel selectableChannel = (SelectableChannel) this.channel;
+        synchronized (selectableChannel.blockingLock()) {
+            boolean blocking = selectableChannel.isBlocking();
+            Selector selector = Selector.open();
+            try {
+                selectableChannel.configureBlocking(false);
+                selectableChannel.register(selector, SelectionKey.OP_READ);
+                if (selector.select((long) Math.max(timeout, 1)) > 0) {
+                    fillBuffer();
+                }
+            } finally {
+                selector.close();
+                selectableChannel.configureBlocking(blocking);
+            }
+        }
+        return hasBufferedData();
+    }
+
+    public boolean isOpen() {
+        return this.buffer != null && this.channel.isOpen();
+    }
+
+    public void close() throws IOException {
+        if (this.buffer != null) {
+            this.buffer = null;
+            this.channel.close();
+        }
+    }
+
+    public HttpTransportMetrics getMetrics() {
+        return this.metrics;
+    }
+}
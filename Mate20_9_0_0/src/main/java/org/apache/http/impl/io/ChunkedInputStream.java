@@ -2,6 +2,7 @@ package org.apache.http.impl.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import org.apache.http.Header;
 import org.apache.http.HttpException;
 import org.apache.http.MalformedChunkCodingException;
@@ -69,6 +70,29 @@ public class ChunkedInputStream extends InputStream {
         return read(b, 0, b.length);
     }
 
+    public long transferTo(WritableByteChannel target) throws IOException {
+        if (this.closed) {
+            throw new IOException("Attempted read from closed stream.");
+        }
+        long total = 0;
+        while (!this.eof) {
+            if (this.pos >= this.chunkSize) {
+                nextChunk();
+                if (this.eof) {
+                    break;
+                }
+            }
+            int remaining = this.chunkSize - this.pos;
+            int count = (int) ChannelInputBuffer.transfer(this.in, (long) remaining, target);
+            this.pos += count;
+            total += (long) count;
+            if (count < remaining) {
+                throw new MalformedChunkCodingException("Chunked stream ended unexpectedly");
+            }
+        }
+        return total;
+    }
+
     private void nextChunk() throws IOException {
         this.chunkSize = getChunkSize();
         if (this.chunkSize >= 0) {
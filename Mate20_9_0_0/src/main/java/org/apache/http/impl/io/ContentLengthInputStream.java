@@ -2,6 +2,7 @@ package org.apache.http.impl.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import org.apache.http.io.SessionInputBuffer;
 
 @Deprecated
@@ -64,6 +65,18 @@ public class ContentLengthInputStream extends InputStream {
         return read(b, 0, b.length);
     }
 
+    public long transferTo(WritableByteChannel target) throws IOException {
+        if (this.closed) {
+            throw new IOException("Attempted read from closed stream.");
+        } else if (this.pos >= this.contentLength) {
+            return 0;
+        } else {
+            long count = ChannelInputBuffer.transfer(this.in, this.contentLength - this.pos, target);
+            this.pos += count;
+            return count;
+        }
+    }
+
     public long skip(long n) throws IOException {
         if (n <= 0) {
             return 0;
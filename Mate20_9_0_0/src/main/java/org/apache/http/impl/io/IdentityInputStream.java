@@ -2,6 +2,7 @@ package org.apache.http.impl.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import org.apache.http.io.SessionInputBuffer;
 
 @Deprecated
@@ -41,4 +42,11 @@ public class IdentityInputStream extends InputStream {
         }
         return this.in.read(b, off, len);
     }
+
+    public long transferTo(WritableByteChannel target) throws IOException {
+        if (this.closed) {
+            return 0;
+        }
+        return ChannelInputBuffer.transfer(this.in, Long.MAX_VALUE, target);
+    }
 }
@@ -1,5 +1,7 @@
 package org.apache.http.util;
 
+import java.nio.ByteBuffer;
+
 @Deprecated
 public final class ByteArrayBuffer {
     private byte[] buffer;
@@ -34,6 +36,23 @@ public final class ByteArrayBuffer {
         }
     }
 
+    public void append(ByteBuffer b, int off, int len) {
+        if (b != null) {
+            if (off < 0 || off > b.limit() || len < 0 || off + len < 0 || off + len > b.limit()) {
+                throw new IndexOutOfBoundsException();
+            } else if (len != 0) {
+                int newlen = this.len + len;
+                if (newlen > this.buffer.length) {
+                    expand(newlen);
+                }
+                ByteBuffer src = b.duplicate();
+                src.position(off);
+                src.get(this.buffer, this.len, len);
+                this.len = newlen;
+            }
+        }
+    }
+
     public void append(int b) {
         int newlen = this.len + 1;
         if (newlen > this.buffer.length) {
@@ -1,5 +1,6 @@
 package org.apache.http.util;
 
+import java.nio.ByteBuffer;
 import org.apache.http.protocol.HTTP;
 
 @Deprecated
@@ -94,6 +95,26 @@ public final class CharArrayBuffer {
         }
     }
 
+    public void append(ByteBuffer b, int off, int len) {
+        if (b != null) {
+            if (off < 0 || off > b.limit() || len < 0 || off + len < 0 || off + len > b.limit()) {
+                throw new IndexOutOfBoundsException();
+            } else if (len != 0) {
+                int oldlen = this.len;
+                int newlen = oldlen + len;
+                if (newlen > this.buffer.length) {
+                    expand(newlen);
+                }
+                int i1 = off;
+                for (int i2 = oldlen; i2 < newlen; i2++) {
+                    this.buffer[i2] = (char) (b.get(i1) & 255);
+                    i1++;
+                }
+                this.len = newlen;
+            }
+        }
+    }
+
     public void append(ByteArrayBuffer b, int off, int len) {
         if (b != null) {
             append(b.buffer(), off, len);
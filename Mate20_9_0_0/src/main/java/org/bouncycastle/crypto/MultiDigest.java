@@ -0,0 +1,11 @@
+package org.bouncycastle.crypto;
+
+public interface MultiDigest {
+    int doFinal(byte[] bArr, int[] iArr, int[] iArr2, int i, byte[] bArr2, int i2);
+
+    int doFinal(byte[][] bArr, byte[] bArr2, int i);
+
+    String getAlgorithmName();
+
+    int getDigestSize();
+}
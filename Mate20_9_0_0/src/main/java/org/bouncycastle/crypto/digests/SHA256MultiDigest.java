@@ -0,0 +1,180 @@
+package org.bouncycastle.crypto.digests;
+
+import org.bouncycastle.crypto.DataLengthException;
+import org.bouncycastle.crypto.MultiDigest;
+import org.bouncycastle.crypto.OutputLengthException;
+import org.bouncycastle.util.Pack;
+
+public class SHA256MultiDigest implements MultiDigest {
+    private static final int BLOCK_LENGTH = 64;
+    private static final int DIGEST_LENGTH = 32;
+    private int H1;
+    private int H2;
+    private int H3;
+    private int H4;
+    private int H5;
+    private int H6;
+    private int H7;
+    private int H8;
+    private final int[] X = new int[64];
+    private final byte[] pad = new byte[128];
+
+    private static int Ch(int i, int i2, int i3) {
+        return ((~i) & i3) ^ (i2 & i);
+    }
+
+    private static int Maj(int i, int i2, int i3) {
+        return ((i & i3) ^ (i & i2)) ^ (i2 & i3);
+    }
+
+    private static int Sum0(int i) {
+        return ((i << 10) | (i >>> 22)) ^ (((i >>> 2) | (i << 30)) ^ ((i >>> 13) | (i << 19)));
+    }
+
+    private static int Sum1(int i) {
+        return ((i << 7) | (i >>> 25)) ^ (((i >>> 6) | (i << 26)) ^ ((i >>> 11) | (i << 21)));
+    }
+
+    private static int Theta0(int i) {
+        return (i >>> 3) ^ (((i >>> 7) | (i << 25)) ^ ((i >>> 18) | (i << 14)));
+    }
+
+    private static int Theta1(int i) {
+        return (i >>> 10) ^ (((i >>> 17) | (i << 15)) ^ ((i >>> 19) | (i << 13)));
+    }
+
+    public int doFinal(byte[] bArr, int[] iArr, int[] iArr2, int i, byte[] bArr2, int i2) {
+        if (i < 0 || i > iArr.length || i > iArr2.length) {
+            throw new DataLengthException("invalid message count");
+        } else if (bArr2.length - i2 >= i * 32) {
+            for (int i3 = 0; i3 < i; i3++) {
+                int i4 = iArr[i3];
+                int i5 = iArr2[i3];
+                if (i4 < 0 || i5 < 0 || i4 > bArr.length - i5) {
+                    throw new DataLengthException("input buffer too short");
+                }
+                hash(bArr, i4, i5, bArr2, (i3 * 32) + i2);
+            }
+            return i * 32;
+        } else {
+            throw new OutputLengthException("output buffer too short");
+        }
+    }
+
+    public int doFinal(byte[][] bArr, byte[] bArr2, int i) {
+        if (bArr2.length - i >= bArr.length * 32) {
+            for (int i2 = 0; i2 < bArr.length; i2++) {
+                hash(bArr[i2], 0, bArr[i2].length, bArr2, (i2 * 32) + i);
+            }
+            return bArr.length * 32;
+        }
+        throw new OutputLengthException("output buffer too short");
+    }
+
+    public String getAlgorithmName() {
+        return "SHA-256";
+    }
+
+    public int getDigestSize() {
+        return 32;
+    }
+
+    private void hash(byte[] bArr, int i, int i2, byte[] bArr2, int i3) {
+        this.H1 = 1779033703;
+        this.H2 = -1150833019;
+        this.H3 = 1013904242;
+        this.H4 = -1521486534;
+        this.H5 = 1359893119;
+        this.H6 = -1694144372;
+        this.H7 = 528734635;
+        this.H8 = 1541459225;
+        int i4 = i + i2;
+        while (i4 - i >= 64) {
+            processBlock(bArr, i);
+            i += 64;
+        }
+        int i5 = i4 - i;
+        System.arraycopy(bArr, i, this.pad, 0, i5);
+        this.pad[i5] = Byte.MIN_VALUE;
+        int i6 = i5 < 56 ? 64 : 128;
+        for (int i7 = i5 + 1; i7 < i6 - 8; i7++) {
+            this.pad[i7] = (byte) 0;
+        }
+        Pack.longToBigEndian(((long) i2) << 3, this.pad, i6 - 8);
+        processBlock(this.pad, 0);
+        if (i6 == 128) {
+            processBlock(this.pad, 64);
+        }
+        Pack.intToBigEndian(this.H1, bArr2, i3);
+        Pack.intToBigEndian(this.H2, bArr2, i3 + 4);
+        Pack.intToBigEndian(this.H3, bArr2, i3 + 8);
+        Pack.intToBigEndian(this.H4, bArr2, i3 + 12);
+        Pack.intToBigEndian(this.H5, bArr2, i3 + 16);
+        Pack.intToBigEndian(this.H6, bArr2, i3 + 20);
+        Pack.intToBigEndian(this.H7, bArr2, i3 + 24);
+        Pack.intToBigEndian(this.H8, bArr2, i3 + 28);
+    }
+
+    private void processBlock(byte[] bArr, int i) {
+        int[] iArr = this.X;
+        int i2;
+        for (i2 = 0; i2 < 16; i2++) {
+            iArr[i2] = Pack.bigEndianToInt(bArr, (i2 * 4) + i);
+        }
+        for (i2 = 16; i2 < 64; i2++) {
+            iArr[i2] = ((Theta1(iArr[i2 - 2]) + iArr[i2 - 7]) + Theta0(iArr[i2 - 15])) + iArr[i2 - 16];
+        }
+        int i3 = this.H1;
+        int i4 = this.H2;
+        int i5 = this.H3;
+        int i6 = this.H4;
+        int i7 = this.H5;
+        int i8 = this.H6;
+        int i9 = this.H7;
+        int i10 = this.H8;
+        int[] iArr2 = SHA256Digest.K;
+        i2 = 0;
+        while (i2 < 64) {
+            i10 += ((Sum1(i7) + Ch(i7, i8, i9)) + iArr2[i2]) + iArr[i2];
+            i6 += i10;
+            i10 += Sum0(i3) + Maj(i3, i4, i5);
+            i2++;
+            i9 += ((Sum1(i6) + Ch(i6, i7, i8)) + iArr2[i2]) + iArr[i2];
+            i5 += i9;
+            i9 += Sum0(i10) + Maj(i10, i3, i4);
+            i2++;
+            i8 += ((Sum1(i5) + Ch(i5, i6, i7)) + iArr2[i2]) + iArr[i2];
+            i4 += i8;
+            i8 += Sum0(i9) + Maj(i9, i10, i3);
+            i2++;
+            i7 += ((Sum1(i4) + Ch(i4, i5, i6)) + iArr2[i2]) + iArr[i2];
+            i3 += i7;
+            i7 += Sum0(i8) + Maj(i8, i9, i10);
+            i2++;
+            i6 += ((Sum1(i3) + Ch(i3, i4, i5)) + iArr2[i2]) + iArr[i2];
+            i10 += i6;
+            i6 += Sum0(i7) + Maj(i7, i8, i9);
+            i2++;
+            i5 += ((Sum1(i10) + Ch(i10, i3, i4)) + iArr2[i2]) + iArr[i2];
+            i9 += i5;
+            i5 += Sum0(i6) + Maj(i6, i7, i8);
+            i2++;
+            i4 += ((Sum1(i9) + Ch(i9, i10, i3)) + iArr2[i2]) + iArr[i2];
+            i8 += i4;
+            i4 += Sum0(i5) + Maj(i5, i6, i7);
+            i2++;
+            i3 += ((Sum1(i8) + Ch(i8, i9, i10)) + iArr2[i2]) + iArr[i2];
+            i7 += i3;
+            i3 += Sum0(i4) + Maj(i4, i5, i6);
+            i2++;
+        }
+        this.H1 += i3;
+        this.H2 += i4;
+        this.H3 += i5;
+        this.H4 += i6;
+        this.H5 += i7;
+        this.H6 += i8;
+        this.H7 += i9;
+        this.H8 += i10;
+    }
+}
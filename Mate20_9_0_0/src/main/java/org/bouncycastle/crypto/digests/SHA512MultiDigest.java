@@ -0,0 +1,180 @@
+package org.bouncycastle.crypto.digests;
+
+import org.bouncycastle.crypto.DataLengthException;
+import org.bouncycastle.crypto.MultiDigest;
+import org.bouncycastle.crypto.OutputLengthException;
+import org.bouncycastle.util.Pack;
+
+public class SHA512MultiDigest implements MultiDigest {
+    private static final int BLOCK_LENGTH = 128;
+    private static final int DIGEST_LENGTH = 64;
+    private long H1;
+    private long H2;
+    private long H3;
+    private long H4;
+    private long H5;
+    private long H6;
+    private long H7;
+    private long H8;
+    private final long[] W = new long[80];
+    private final byte[] pad = new byte[256];
+
+    private static long Ch(long j, long j2, long j3) {
+        return ((~j) & j3) ^ (j2 & j);
+    }
+
+    private static long Maj(long j, long j2, long j3) {
+        return ((j & j3) ^ (j & j2)) ^ (j2 & j3);
+    }
+
+    private static long Sigma0(long j) {
+        return (j >>> 7) ^ (((j << 63) | (j >>> 1)) ^ ((j << 56) | (j >>> 8)));
+    }
+
+    private static long Sigma1(long j) {
+        return (j >>> 6) ^ (((j << 45) | (j >>> 19)) ^ ((j << 3) | (j >>> 61)));
+    }
+
+    private static long Sum0(long j) {
+        return ((j >>> 39) | (j << 25)) ^ (((j << 36) | (j >>> 28)) ^ ((j << 30) | (j >>> 34)));
+    }
+
+    private static long Sum1(long j) {
+        return ((j >>> 41) | (j << 23)) ^ (((j << 50) | (j >>> 14)) ^ ((j << 46) | (j >>> 18)));
+    }
+
+    public int doFinal(byte[] bArr, int[] iArr, int[] iArr2, int i, byte[] bArr2, int i2) {
+        if (i < 0 || i > iArr.length || i > iArr2.length) {
+            throw new DataLengthException("invalid message count");
+        } else if (bArr2.length - i2 >= i * 64) {
+            for (int i3 = 0; i3 < i; i3++) {
+                int i4 = iArr[i3];
+                int i5 = iArr2[i3];
+                if (i4 < 0 || i5 < 0 || i4 > bArr.length - i5) {
+                    throw new DataLengthException("input buffer too short");
+                }
+                hash(bArr, i4, i5, bArr2, (i3 * 64) + i2);
+            }
+            return i * 64;
+        } else {
+            throw new OutputLengthException("output buffer too short");
+        }
+    }
+
+    public int doFinal(byte[][] bArr, byte[] bArr2, int i) {
+        if (bArr2.length - i >= bArr.length * 64) {
+            for (int i2 = 0; i2 < bArr.length; i2++) {
+                hash(bArr[i2], 0, bArr[i2].length, bArr2, (i2 * 64) + i);
+            }
+            return bArr.length * 64;
+        }
+        throw new OutputLengthException("output buffer too short");
+    }
+
+    public String getAlgorithmName() {
+        return "SHA-512";
+    }
+
+    public int getDigestSize() {
+        return 64;
+    }
+
+    private void hash(byte[] bArr, int i, int i2, byte[] bArr2, int i3) {
+        this.H1 = 7640891576956012808L;
+        this.H2 = -4942790177534073029L;
+        this.H3 = 4354685564936845355L;
+        this.H4 = -6534734903238641935L;
+        this.H5 = 5840696475078001361L;
+        this.H6 = -7276294671716946913L;
+        this.H7 = 2270897969802886507L;
+        this.H8 = 6620516959819538809L;
+        int i4 = i + i2;
+        while (i4 - i >= 128) {
+            processBlock(bArr, i);
+            i += 128;
+        }
+        int i5 = i4 - i;
+        System.arraycopy(bArr, i, this.pad, 0, i5);
+        this.pad[i5] = Byte.MIN_VALUE;
+        int i6 = i5 < 112 ? 128 : 256;
+        for (int i7 = i5 + 1; i7 < i6 - 8; i7++) {
+            this.pad[i7] = (byte) 0;
+        }
+        Pack.longToBigEndian(((long) i2) << 3, this.pad, i6 - 8);
+        processBlock(this.pad, 0);
+        if (i6 == 256) {
+            processBlock(this.pad, 128);
+        }
+        Pack.longToBigEndian(this.H1, bArr2, i3);
+        Pack.longToBigEndian(this.H2, bArr2, i3 + 8);
+        Pack.longToBigEndian(this.H3, bArr2, i3 + 16);
+        Pack.longToBigEndian(this.H4, bArr2, i3 + 24);
+        Pack.longToBigEndian(this.H5, bArr2, i3 + 32);
+        Pack.longToBigEndian(this.H6, bArr2, i3 + 40);
+        Pack.longToBigEndian(this.H7, bArr2, i3 + 48);
+        Pack.longToBigEndian(this.H8, bArr2, i3 + 56);
+    }
+
+    private void processBlock(byte[] bArr, int i) {
+        long[] jArr = this.W;
+        int i2;
+        for (i2 = 0; i2 < 16; i2++) {
+            jArr[i2] = Pack.bigEndianToLong(bArr, (i2 * 8) + i);
+        }
+        for (i2 = 16; i2 < 80; i2++) {
+            jArr[i2] = ((Sigma1(jArr[i2 - 2]) + jArr[i2 - 7]) + Sigma0(jArr[i2 - 15])) + jArr[i2 - 16];
+        }
+        long j = this.H1;
+        long j2 = this.H2;
+        long j3 = this.H3;
+        long j4 = this.H4;
+        long j5 = this.H5;
+        long j6 = this.H6;
+        long j7 = this.H7;
+        long j8 = this.H8;
+        long[] jArr2 = LongDigest.K;
+        i2 = 0;
+        while (i2 < 80) {
+            j8 += ((Sum1(j5) + Ch(j5, j6, j7)) + jArr2[i2]) + jArr[i2];
+            j4 += j8;
+            j8 += Sum0(j) + Maj(j, j2, j3);
+            i2++;
+            j7 += ((Sum1(j4) + Ch(j4, j5, j6)) + jArr2[i2]) + jArr[i2];
+            j3 += j7;
+            j7 += Sum0(j8) + Maj(j8, j, j2);
+            i2++;
+            j6 += ((Sum1(j3) + Ch(j3, j4, j5)) + jArr2[i2]) + jArr[i2];
+            j2 += j6;
+            j6 += Sum0(j7) + Maj(j7, j8, j);
+            i2++;
+            j5 += ((Sum1(j2) + Ch(j2, j3, j4)) + jArr2[i2]) + jArr[i2];
+            j += j5;
+            j5 += Sum0(j6) + Maj(j6, j7, j8);
+            i2++;
+            j4 += ((Sum1(j) + Ch(j, j2, j3)) + jArr2[i2]) + jArr[i2];
+            j8 += j4;
+            j4 += Sum0(j5) + Maj(j5, j6, j7);
+            i2++;
+            j3 += ((Sum1(j8) + Ch(j8, j, j2)) + jArr2[i2]) + jArr[i2];
+            j7 += j3;
+            j3 += Sum0(j4) + Maj(j4, j5, j6);
+            i2++;
+            j2 += ((Sum1(j7) + Ch(j7, j8, j)) + jArr2[i2]) + jArr[i2];
+            j6 += j2;
+            j2 += Sum0(j3) + Maj(j3, j4, j5);
+            i2++;
+            j += ((Sum1(j6) + Ch(j6, j7, j8)) + jArr2[i2]) + jArr[i2];
+            j5 += j;
+            j += Sum0(j2) + Maj(j2, j3, j4);
+            i2++;
+        }
+        this.H1 += j;
+        this.H2 += j2;
+        this.H3 += j3;
+        this.H4 += j4;
+        this.H5 += j5;
+        this.H6 += j6;
+        this.H7 += j7;
+        this.H8 += j8;
+    }
+}
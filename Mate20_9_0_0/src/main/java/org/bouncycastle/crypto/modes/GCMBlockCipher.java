@@ -6,10 +6,13 @@ import org.bouncycastle.crypto.DataLengthException;
 import org.bouncycastle.crypto.InvalidCipherTextException;
 import org.bouncycastle.crypto.OutputLengthException;
 import org.bouncycastle.crypto.modes.gcm.BasicGCMExponentiator;
+import org.bouncycastle.crypto.modes.gcm.BasicGCMMultiplier;
 import org.bouncycastle.crypto.modes.gcm.GCMExponentiator;
 import org.bouncycastle.crypto.modes.gcm.GCMMultiplier;
 import org.bouncycastle.crypto.modes.gcm.GCMUtil;
 import org.bouncycastle.crypto.modes.gcm.Tables4kGCMMultiplier;
+import org.bouncycastle.crypto.modes.gcm.Tables64kGCMMultiplier;
+import org.bouncycastle.crypto.modes.gcm.Tables8kGCMMultiplier;
 import org.bouncycastle.crypto.params.AEADParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.crypto.params.ParametersWithIV;
@@ -18,6 +21,8 @@ import org.bouncycastle.util.Pack;
 
 public class GCMBlockCipher implements AEADBlockCipher {
     private static final int BLOCK_SIZE = 16;
+    private static final int STRIDE = 4;
+    private static final int STRIDE_SIZE = 64;
     private byte[] H;
     private byte[] J0;
     private byte[] S;
@@ -32,6 +37,8 @@ public class GCMBlockCipher implements AEADBlockCipher {
     private int bufOff;
     private BlockCipher cipher;
     private byte[] counter;
+    private byte[] ctrBlock = new byte[16];
+    private byte[] ctrBlocks;
     private GCMExponentiator exp;
     private boolean forEncryption;
     private byte[] initialAssociatedText;
@@ -39,8 +46,11 @@ public class GCMBlockCipher implements AEADBlockCipher {
     private byte[] lastKey;
     private byte[] macBlock;
     private int macSize;
+    private byte[][] hashBlocks;
     private GCMMultiplier multiplier;
     private byte[] nonce;
+    private GCMMultiplier[] powerMultipliers;
+    private boolean powersStale;
     private long totalLength;
 
     public GCMBlockCipher(BlockCipher blockCipher) {
@@ -54,11 +64,50 @@ public class GCMBlockCipher implements AEADBlockCipher {
             }
             this.cipher = blockCipher;
             this.multiplier = gCMMultiplier;
+            this.powerMultipliers = createPowerMultipliers(gCMMultiplier);
             return;
         }
         throw new IllegalArgumentException("cipher required with a block size of 16.");
     }
 
+    private static GCMMultiplier[] createPowerMultipliers(GCMMultiplier gCMMultiplier) {
+        GCMMultiplier[] gCMMultiplierArr = new GCMMultiplier[3];
+        for (int i = 0; i < gCMMultiplierArr.length; i++) {
+            if ((gCMMultiplier instanceof Tables64kGCMMultiplier) || (gCMMultiplier instanceof Tables8kGCMMultiplier)) {
+                gCMMultiplierArr[i] = new Tables8kGCMMultiplier();
+            } else if (gCMMultiplier instanceof Tables4kGCMMultiplier) {
+                gCMMultiplierArr[i] = new Tables4kGCMMultiplier();
+            } else if (!(gCMMultiplier instanceof BasicGCMMultiplier)) {
+                return null;
+            } else {
+                gCMMultiplierArr[i] = new BasicGCMMultiplier();
+            }
+        }
+        return gCMMultiplierArr;
+    }
+
+    private boolean initPowers() {
+        if (this.powerMultipliers == null) {
+            return false;
+        }
+        if (this.powersStale) {
+            byte[] clone = Arrays.clone(this.H);
+            for (int i = 0; i < this.powerMultipliers.length; i++) {
+                this.multiplier.multiplyH(clone);
+                this.powerMultipliers[i].init(clone);
+            }
+            if (this.ctrBlocks == null) {
+                this.ctrBlocks = new byte[STRIDE_SIZE];
+                this.hashBlocks = new byte[STRIDE][];
+                for (int i2 = 0; i2 < STRIDE; i2++) {
+                    this.hashBlocks[i2] = new byte[16];
+                }
+            }
+            this.powersStale = false;
+        }
+        return true;
+    }
+
     private void checkStatus() {
         if (!this.initialised) {
             if (this.forEncryption) {
@@ -90,6 +139,10 @@ public class GCMBlockCipher implements AEADBlockCipher {
     }
 
     private void getNextCTRBlock(byte[] bArr) {
+        getNextCTRBlock(bArr, 0);
+    }
+
+    private void getNextCTRBlock(byte[] bArr, int i3) {
         if (this.blocksRemaining != 0) {
             this.blocksRemaining--;
             int i = 1 + (this.counter[15] & 255);
@@ -99,12 +152,53 @@ public class GCMBlockCipher implements AEADBlockCipher {
             i2 = (i2 >>> 8) + (this.counter[13] & 255);
             this.counter[13] = (byte) i2;
             this.counter[12] = (byte) ((i2 >>> 8) + (this.counter[12] & 255));
-            this.cipher.processBlock(this.counter, 0, bArr, 0);
+            this.cipher.processBlock(this.counter, 0, bArr, i3);
             return;
         }
         throw new IllegalStateException("Attempt to process too many blocks");
     }
 
+    private void gHASHBlocks(byte[] bArr, int i) {
+        byte[][] bArr2 = this.hashBlocks;
+        for (int i2 = 0; i2 < STRIDE; i2++) {
+            System.arraycopy(bArr, (i2 * 16) + i, bArr2[i2], 0, 16);
+        }
+        GCMUtil.xor(bArr2[0], this.S);
+        this.powerMultipliers[2].multiplyH(bArr2[0]);
+        this.powerMultipliers[1].multiplyH(bArr2[1]);
+        this.powerMultipliers[0].multiplyH(bArr2[2]);
+        this.multiplier.multiplyH(bArr2[3]);
+        GCMUtil.xor(bArr2[0], bArr2[1], this.S);
+        GCMUtil.xor(this.S, bArr2[2]);
+        GCMUtil.xor(this.S, bArr2[3]);
+    }
+
+    private void processBlocks(byte[] bArr, int i, byte[] bArr2, int i2) {
+        if (bArr2.length - i2 >= STRIDE_SIZE) {
+            if (this.totalLength == 0) {
+                initCipher();
+            }
+            byte[] bArr3 = this.ctrBlocks;
+            if (this.forEncryption) {
+                for (int i3 = 0; i3 < STRIDE_SIZE; i3 += 16) {
+                    getNextCTRBlock(bArr3, i3);
+                    GCMUtil.xor(bArr3, i3, bArr, i + i3, 16);
+                }
+                gHASHBlocks(bArr3, 0);
+                System.arraycopy(bArr3, 0, bArr2, i2, STRIDE_SIZE);
+            } else {
+                gHASHBlocks(bArr, i);
+                for (int i4 = 0; i4 < STRIDE_SIZE; i4 += 16) {
+                    getNextCTRBlock(bArr3, i4);
+                    GCMUtil.xor(bArr3, i4, bArr, i + i4, bArr2, i2 + i4);
+                }
+            }
+            this.totalLength += 64;
+            return;
+        }
+        throw new OutputLengthException("Output buffer too short");
+    }
+
     private void initCipher() {
         if (this.atLength > 0) {
             System.arraycopy(this.S_at, 0, this.S_atPre, 0, 16);
@@ -124,7 +218,7 @@ public class GCMBlockCipher implements AEADBlockCipher {
             if (this.totalLength == 0) {
                 initCipher();
             }
-            byte[] bArr3 = new byte[16];
+            byte[] bArr3 = this.ctrBlock;
             getNextCTRBlock(bArr3);
             if (this.forEncryption) {
                 GCMUtil.xor(bArr3, bArr, i);
@@ -141,7 +235,7 @@ public class GCMBlockCipher implements AEADBlockCipher {
     }
 
     private void processPartial(byte[] bArr, int i, int i2, byte[] bArr2, int i3) {
-        byte[] bArr3 = new byte[16];
+        byte[] bArr3 = this.ctrBlock;
         getNextCTRBlock(bArr3);
         if (this.forEncryption) {
             GCMUtil.xor(bArr, i, bArr3, 0, i2);
@@ -322,6 +416,7 @@ public class GCMBlockCipher implements AEADBlockCipher {
             this.H = new byte[16];
             this.cipher.processBlock(this.H, 0, this.H, 0);
             this.multiplier.init(this.H);
+            this.powersStale = true;
             this.exp = null;
         } else if (this.H == null) {
             throw new IllegalArgumentException("Key must be specified in initial init");
@@ -399,27 +494,31 @@ public class GCMBlockCipher implements AEADBlockCipher {
     public int processBytes(byte[] bArr, int i, int i2, byte[] bArr2, int i3) throws DataLengthException {
         checkStatus();
         if (bArr.length - i >= i2) {
-            int i4;
-            int i5;
+            int i4 = 0;
             if (this.forEncryption) {
                 if (this.bufOff != 0) {
                     while (i2 > 0) {
                         i2--;
-                        i5 = i + 1;
                         this.bufBlock[this.bufOff] = bArr[i];
-                        i = this.bufOff + 1;
-                        this.bufOff = i;
-                        if (i == 16) {
+                        i++;
+                        int i5 = this.bufOff + 1;
+                        this.bufOff = i5;
+                        if (i5 == 16) {
                             processBlock(this.bufBlock, 0, bArr2, i3);
                             this.bufOff = 0;
                             i4 = 16;
-                            i = i5;
                             break;
                         }
-                        i = i5;
                     }
                 }
-                i4 = 0;
+                if (i2 >= STRIDE_SIZE && initPowers()) {
+                    while (i2 >= STRIDE_SIZE) {
+                        processBlocks(bArr, i, bArr2, i3 + i4);
+                        i += STRIDE_SIZE;
+                        i2 -= STRIDE_SIZE;
+                        i4 += STRIDE_SIZE;
+                    }
+                }
                 while (i2 >= 16) {
                     processBlock(bArr, i, bArr2, i3 + i4);
                     i += 16;
@@ -429,24 +528,28 @@ public class GCMBlockCipher implements AEADBlockCipher {
                 if (i2 > 0) {
                     System.arraycopy(bArr, i, this.bufBlock, 0, i2);
                     this.bufOff = i2;
-                    return i4;
+                }
+                return i4;
+            }
+            if (this.bufOff == 0 && i2 >= this.macSize + STRIDE_SIZE && initPowers()) {
+                while (i2 >= this.macSize + STRIDE_SIZE) {
+                    processBlocks(bArr, i, bArr2, i3 + i4);
+                    i += STRIDE_SIZE;
+                    i2 -= STRIDE_SIZE;
+                    i4 += STRIDE_SIZE;
                 }
             }
-            i4 = 0;
-            int i6 = i4;
-            while (i4 < i2) {
-                this.bufBlock[this.bufOff] = bArr[i + i4];
-                i5 = this.bufOff + 1;
-                this.bufOff = i5;
-                if (i5 == this.bufBlock.length) {
-                    processBlock(this.bufBlock, 0, bArr2, i3 + i6);
+            for (int i7 = 0; i7 < i2; i7++) {
+                this.bufBlock[this.bufOff] = bArr[i + i7];
+                int i6 = this.bufOff + 1;
+                this.bufOff = i6;
+                if (i6 == this.bufBlock.length) {
+                    processBlock(this.bufBlock, 0, bArr2, i3 + i4);
                     System.arraycopy(this.bufBlock, 16, this.bufBlock, 0, this.macSize);
                     this.bufOff = this.macSize;
-                    i6 += 16;
+                    i4 += 16;
                 }
-                i4++;
             }
-            i4 = i6;
             return i4;
         }
         throw new DataLengthException("Input buffer too short");
@@ -0,0 +1,220 @@
+package org.bouncycastle.crypto.signers;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECConstants;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+
+public class ECDSABatchVerifier implements ECConstants {
+    private static final int MIN_CHUNK = 16;
+    private final List<Item> items = new ArrayList();
+
+    private static final class Item {
+        final ECPublicKeyParameters key;
+        final byte[] message;
+        final BigInteger r;
+        final BigInteger s;
+
+        Item(byte[] bArr, BigInteger bigInteger, BigInteger bigInteger2, ECPublicKeyParameters eCPublicKeyParameters) {
+            this.message = bArr;
+            this.r = bigInteger;
+            this.s = bigInteger2;
+            this.key = eCPublicKeyParameters;
+        }
+    }
+
+    public void add(byte[] bArr, BigInteger bigInteger, BigInteger bigInteger2, ECPublicKeyParameters eCPublicKeyParameters) {
+        if (bArr == null || bigInteger == null || bigInteger2 == null || eCPublicKeyParameters == null) {
+            throw new IllegalArgumentException("message, signature and key must be non-null");
+        }
+        this.items.add(new Item(bArr, bigInteger, bigInteger2, eCPublicKeyParameters));
+    }
+
+    public int size() {
+        return this.items.size();
+    }
+
+    public void reset() {
+        this.items.clear();
+    }
+
+    public boolean[] verify() {
+        boolean[] zArr = new boolean[this.items.size()];
+        verify(0, zArr.length, zArr);
+        return zArr;
+    }
+
+    public boolean[] verify(ForkJoinPool forkJoinPool) {
+        final boolean[] zArr = new boolean[this.items.size()];
+        int max = Math.max(MIN_CHUNK, ((zArr.length + forkJoinPool.getParallelism()) - 1) / forkJoinPool.getParallelism());
+        if (zArr.length <= max) {
+            verify(0, zArr.length, zArr);
+            return zArr;
+        }
+        List<Callable<Object>> arrayList = new ArrayList();
+        int i = 0;
+        while (i < zArr.length) {
+            final int i2 = i;
+            final int min = Math.min(zArr.length, i + max);
+            arrayList.add(new Callable<Object>() {
+                public Object call() {
+                    ECDSABatchVerifier.this.verify(i2, min, zArr);
+                    return null;
+                }
+            });
+            i = min;
+        }
+        try {
+            for (Future<Object> future : forkJoinPool.invokeAll(arrayList)) {
+                future.get();
+            }
+            return zArr;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("batch verification interrupted");
+        } catch (ExecutionException e2) {
+            Throwable cause = e2.getCause();
+            if (cause instanceof RuntimeException) {
+                throw ((RuntimeException) cause);
+            } else if (cause instanceof Error) {
+                throw ((Error) cause);
+            } else {
+                throw new IllegalStateException("batch verification failed: " + cause);
+            }
+        }
+    }
+
+    public boolean verifyAll() {
+        for (boolean z : verify()) {
+            if (!z) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected BigInteger calculateE(BigInteger bigInteger, byte[] bArr) {
+        int bitLength = bigInteger.bitLength();
+        int length = bArr.length * 8;
+        BigInteger bigInteger2 = new BigInteger(1, bArr);
+        return bitLength < length ? bigInteger2.shiftRight(length - bitLength) : bigInteger2;
+    }
+
+    protected ECFieldElement getDenominator(int i, ECPoint eCPoint) {
+        switch (i) {
+            case 1:
+            case 6:
+            case 7:
+                return eCPoint.getZCoord(0);
+            case 2:
+            case 3:
+            case 4:
+                return eCPoint.getZCoord(0).square();
+            default:
+                return null;
+        }
+    }
+
+    private void verify(int i, int i2, boolean[] zArr) {
+        int i3 = i2 - i;
+        BigInteger[] bigIntegerArr = new BigInteger[i3];
+        Map<BigInteger, List<Integer>> hashMap = new HashMap();
+        for (int i4 = 0; i4 < i3; i4++) {
+            Item item = (Item) this.items.get(i + i4);
+            BigInteger n = item.key.getParameters().getN();
+            if (item.r.compareTo(ONE) >= 0 && item.r.compareTo(n) < 0 && item.s.compareTo(ONE) >= 0 && item.s.compareTo(n) < 0) {
+                bigIntegerArr[i4] = item.s;
+                List list = (List) hashMap.get(n);
+                if (list == null) {
+                    list = new ArrayList();
+                    hashMap.put(n, list);
+                }
+                list.add(Integer.valueOf(i4));
+            }
+        }
+        for (Map.Entry<BigInteger, List<Integer>> entry : hashMap.entrySet()) {
+            invertAll((BigInteger) entry.getKey(), bigIntegerArr, (List) entry.getValue());
+        }
+        ECPoint[] eCPointArr = new ECPoint[i3];
+        Map<ECCurve, List<Integer>> identityHashMap = new IdentityHashMap();
+        for (int i5 = 0; i5 < i3; i5++) {
+            if (bigIntegerArr[i5] != null) {
+                Item item2 = (Item) this.items.get(i + i5);
+                ECDomainParameters parameters = item2.key.getParameters();
+                BigInteger n2 = parameters.getN();
+                ECPoint sumOfTwoMultiplies = ECAlgorithms.sumOfTwoMultiplies(parameters.getG(), calculateE(n2, item2.message).multiply(bigIntegerArr[i5]).mod(n2), item2.key.getQ(), item2.r.multiply(bigIntegerArr[i5]).mod(n2));
+                if (!sumOfTwoMultiplies.isInfinity()) {
+                    ECCurve curve = sumOfTwoMultiplies.getCurve();
+                    BigInteger cofactor = curve.getCofactor();
+                    ECFieldElement denominator = null;
+                    if (cofactor != null && cofactor.compareTo(EIGHT) <= 0) {
+                        denominator = getDenominator(curve.getCoordinateSystem(), sumOfTwoMultiplies);
+                    }
+                    if (denominator == null || denominator.isZero()) {
+                        eCPointArr[i5] = sumOfTwoMultiplies;
+                        List list2 = (List) identityHashMap.get(curve);
+                        if (list2 == null) {
+                            list2 = new ArrayList();
+                            identityHashMap.put(curve, list2);
+                        }
+                        list2.add(Integer.valueOf(i5));
+                    } else {
+                        zArr[i + i5] = matches(curve, sumOfTwoMultiplies.getXCoord(), denominator, item2.r, n2);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<ECCurve, List<Integer>> entry2 : identityHashMap.entrySet()) {
+            List list3 = (List) entry2.getValue();
+            ECPoint[] eCPointArr2 = new ECPoint[list3.size()];
+            for (int i6 = 0; i6 < eCPointArr2.length; i6++) {
+                eCPointArr2[i6] = eCPointArr[((Integer) list3.get(i6)).intValue()];
+            }
+            ((ECCurve) entry2.getKey()).normalizeAll(eCPointArr2);
+            for (int i7 = 0; i7 < eCPointArr2.length; i7++) {
+                Item item3 = (Item) this.items.get(i + ((Integer) list3.get(i7)).intValue());
+                zArr[i + ((Integer) list3.get(i7)).intValue()] = eCPointArr2[i7].getAffineXCoord().toBigInteger().mod(item3.key.getParameters().getN()).equals(item3.r);
+            }
+        }
+    }
+
+    private static boolean matches(ECCurve eCCurve, ECFieldElement eCFieldElement, ECFieldElement eCFieldElement2, BigInteger bigInteger, BigInteger bigInteger2) {
+        while (eCCurve.isValidFieldElement(bigInteger)) {
+            if (eCCurve.fromBigInteger(bigInteger).multiply(eCFieldElement2).equals(eCFieldElement)) {
+                return true;
+            }
+            bigInteger = bigInteger.add(bigInteger2);
+        }
+        return false;
+    }
+
+    private static void invertAll(BigInteger bigInteger, BigInteger[] bigIntegerArr, List list) {
+        int size = list.size();
+        BigInteger[] bigIntegerArr2 = new BigInteger[size];
+        bigIntegerArr2[0] = bigIntegerArr[((Integer) list.get(0)).intValue()];
+        for (int i = 1; i < size; i++) {
+            bigIntegerArr2[i] = bigIntegerArr2[i - 1].multiply(bigIntegerArr[((Integer) list.get(i)).intValue()]).mod(bigInteger);
+        }
+        BigInteger modInverse = bigIntegerArr2[size - 1].modInverse(bigInteger);
+        for (int i2 = size - 1; i2 > 0; i2--) {
+            int intValue = ((Integer) list.get(i2)).intValue();
+            BigInteger bigInteger2 = bigIntegerArr[intValue];
+            bigIntegerArr[intValue] = bigIntegerArr2[i2 - 1].multiply(modInverse).mod(bigInteger);
+            modInverse = modInverse.multiply(bigInteger2).mod(bigInteger);
+        }
+        bigIntegerArr[((Integer) list.get(0)).intValue()] = modInverse;
+    }
+}
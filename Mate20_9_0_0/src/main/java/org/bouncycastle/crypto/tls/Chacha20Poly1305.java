@@ -12,7 +12,7 @@ import org.bouncycastle.crypto.params.ParametersWithIV;
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Pack;
 
-public class Chacha20Poly1305 implements TlsCipher {
+public class Chacha20Poly1305 implements TlsInPlaceCipher {
     private static final byte[] ZEROES = new byte[15];
     protected TlsContext context;
     protected ChaCha7539Engine decryptCipher;
@@ -69,27 +69,47 @@ public class Chacha20Poly1305 implements TlsCipher {
     }
 
     public byte[] decodeCiphertext(long j, short s, byte[] bArr, int i, int i2) throws IOException {
-        int i3 = i2;
-        if (getPlaintextLimit(i3) >= 0) {
-            int i4 = i3 - 16;
-            byte[] bArr2 = bArr;
-            if (Arrays.constantTimeAreEqual(calculateRecordMAC(initRecord(this.decryptCipher, false, j, this.decryptIV), getAdditionalData(j, s, i4), bArr2, i, i4), Arrays.copyOfRange(bArr2, i + i4, i + i3))) {
-                byte[] bArr3 = new byte[i4];
-                this.decryptCipher.processBytes(bArr2, i, i4, bArr3, 0);
-                return bArr3;
-            }
-            throw new TlsFatalAlert((short) 20);
+        if (getPlaintextLimit(i2) >= 0) {
+            byte[] bArr2 = new byte[(i2 - 16)];
+            decodeCiphertext(j, s, bArr, i, i2, bArr2, 0);
+            return bArr2;
         }
         throw new TlsFatalAlert((short) 50);
     }
 
+    public int decodeCiphertextInPlace(long j, short s, byte[] bArr, int i, int i2) throws IOException {
+        if (getPlaintextLimit(i2) >= 0) {
+            return decodeCiphertext(j, s, bArr, i, i2, bArr, i);
+        }
+        throw new TlsFatalAlert((short) 50);
+    }
+
+    private int decodeCiphertext(long j, short s, byte[] bArr, int i, int i2, byte[] bArr2, int i3) throws IOException {
+        int i4 = i2 - 16;
+        byte[] calculateRecordMAC = calculateRecordMAC(initRecord(this.decryptCipher, false, j, this.decryptIV), getAdditionalData(j, s, i4), bArr, i, i4);
+        int i5 = 0;
+        for (int i6 = 0; i6 < calculateRecordMAC.length; i6++) {
+            i5 |= calculateRecordMAC[i6] ^ bArr[(i + i4) + i6];
+        }
+        if (i5 == 0) {
+            this.decryptCipher.processBytes(bArr, i, i4, bArr2, i3);
+            return i4;
+        }
+        throw new TlsFatalAlert((short) 20);
+    }
+
     public byte[] encodePlaintext(long j, short s, byte[] bArr, int i, int i2) throws IOException {
+        byte[] bArr2 = new byte[(i2 + 16)];
+        encodePlaintext(j, s, bArr, i, i2, bArr2, 0);
+        return bArr2;
+    }
+
+    public int encodePlaintext(long j, short s, byte[] bArr, int i, int i2, byte[] bArr2, int i3) throws IOException {
         KeyParameter initRecord = initRecord(this.encryptCipher, true, j, this.encryptIV);
-        Object obj = new byte[(i2 + 16)];
-        this.encryptCipher.processBytes(bArr, i, i2, obj, 0);
-        Object calculateRecordMAC = calculateRecordMAC(initRecord, getAdditionalData(j, s, i2), obj, 0, i2);
-        System.arraycopy(calculateRecordMAC, 0, obj, i2, calculateRecordMAC.length);
-        return obj;
+        this.encryptCipher.processBytes(bArr, i, i2, bArr2, i3);
+        byte[] calculateRecordMAC = calculateRecordMAC(initRecord, getAdditionalData(j, s, i2), bArr2, i3, i2);
+        System.arraycopy(calculateRecordMAC, 0, bArr2, i3 + i2, calculateRecordMAC.length);
+        return i2 + 16;
     }
 
     protected KeyParameter generateRecordMACKey(StreamCipher streamCipher) {
@@ -109,6 +129,10 @@ public class Chacha20Poly1305 implements TlsCipher {
         return bArr;
     }
 
+    public int getCiphertextLength(int i) {
+        return i + 16;
+    }
+
     public int getPlaintextLimit(int i) {
         return i - 16;
     }
@@ -1,10 +1,12 @@
 package org.bouncycastle.crypto.tls;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import org.bouncycastle.util.io.SimpleOutputStream;
+import org.bouncycastle.util.io.Streams;
 
 class RecordStream {
     private static int DEFAULT_PLAINTEXT_LIMIT = 16384;
@@ -27,11 +29,14 @@ class RecordStream {
     private TlsCipher pendingCipher = null;
     private TlsCompression pendingCompression = null;
     private int plaintextLimit;
+    private byte[] readBuffer = null;
     private TlsCipher readCipher = null;
     private TlsCompression readCompression = null;
     private SequenceNumber readSeqNo = new SequenceNumber();
     private ProtocolVersion readVersion = null;
     private boolean restrictReadVersion = true;
+    private boolean reuseBuffers = false;
+    private byte[] writeBuffer = null;
     private TlsCipher writeCipher = null;
     private TlsCompression writeCompression = null;
     private SequenceNumber writeSeqNo = new SequenceNumber();
@@ -112,7 +117,11 @@ class RecordStream {
 
     byte[] decodeAndVerify(short s, InputStream inputStream, int i) throws IOException {
         byte[] readFully = TlsUtils.readFully(i, inputStream);
-        byte[] decodeCiphertext = this.readCipher.decodeCiphertext(this.readSeqNo.nextValue((short) 10), s, readFully, 0, readFully.length);
+        return decodeAndVerify(s, readFully, 0, readFully.length);
+    }
+
+    private byte[] decodeAndVerify(short s, byte[] bArr, int i, int i2) throws IOException {
+        byte[] decodeCiphertext = this.readCipher.decodeCiphertext(this.readSeqNo.nextValue((short) 10), s, bArr, i, i2);
         checkLength(decodeCiphertext.length, this.compressedLimit, (short) 22);
         OutputStream decompress = this.readCompression.decompress(this.buffer);
         if (decompress != this.buffer) {
@@ -174,30 +183,75 @@ class RecordStream {
         return tlsHandshakeHash;
     }
 
-    boolean readRecord() throws IOException {
-        byte[] readAllOrNothing = TlsUtils.readAllOrNothing(5, this.input);
-        if (readAllOrNothing == null) {
-            return false;
-        }
-        short readUint8 = TlsUtils.readUint8(readAllOrNothing, 0);
-        checkType(readUint8, (short) 10);
+    boolean isReuseBuffers() {
+        return this.reuseBuffers;
+    }
+
+    private int readHeader(byte[] bArr) throws IOException {
+        checkType(TlsUtils.readUint8(bArr, 0), (short) 10);
         if (this.restrictReadVersion) {
-            ProtocolVersion readVersion = TlsUtils.readVersion(readAllOrNothing, 1);
+            ProtocolVersion readVersion = TlsUtils.readVersion(bArr, 1);
             if (this.readVersion == null) {
                 this.readVersion = readVersion;
             } else if (!readVersion.equals(this.readVersion)) {
                 throw new TlsFatalAlert((short) 47);
             }
-        } else if ((TlsUtils.readVersionRaw(readAllOrNothing, 1) & -256) != 768) {
+        } else if ((TlsUtils.readVersionRaw(bArr, 1) & -256) != 768) {
             throw new TlsFatalAlert((short) 47);
         }
-        int readUint16 = TlsUtils.readUint16(readAllOrNothing, 3);
+        int readUint16 = TlsUtils.readUint16(bArr, 3);
         checkLength(readUint16, this.ciphertextLimit, (short) 22);
-        readAllOrNothing = decodeAndVerify(readUint8, this.input, readUint16);
+        return readUint16;
+    }
+
+    boolean readRecord() throws IOException {
+        if (this.reuseBuffers) {
+            return readRecordInPlace();
+        }
+        byte[] readAllOrNothing = TlsUtils.readAllOrNothing(5, this.input);
+        if (readAllOrNothing == null) {
+            return false;
+        }
+        short readUint8 = TlsUtils.readUint8(readAllOrNothing, 0);
+        int readHeader = readHeader(readAllOrNothing);
+        readAllOrNothing = decodeAndVerify(readUint8, this.input, readHeader);
         this.handler.processRecord(readUint8, readAllOrNothing, 0, readAllOrNothing.length);
         return true;
     }
 
+    private boolean readRecordInPlace() throws IOException {
+        byte[] bArr = this.readBuffer;
+        if (bArr == null || bArr.length < this.ciphertextLimit + 5) {
+            bArr = new byte[(this.ciphertextLimit + 5)];
+            this.readBuffer = bArr;
+        }
+        int readFully = Streams.readFully(this.input, bArr, 0, 5);
+        if (readFully == 0) {
+            return false;
+        }
+        if (readFully != 5) {
+            throw new EOFException();
+        }
+        short readUint8 = TlsUtils.readUint8(bArr, 0);
+        int readHeader = readHeader(bArr);
+        if (Streams.readFully(this.input, bArr, 5, readHeader) != readHeader) {
+            throw new EOFException();
+        }
+        TlsCipher tlsCipher = this.readCipher;
+        if (!(tlsCipher instanceof TlsInPlaceCipher) || !(this.readCompression instanceof TlsNullCompression)) {
+            byte[] decodeAndVerify = decodeAndVerify(readUint8, bArr, 5, readHeader);
+            this.handler.processRecord(readUint8, decodeAndVerify, 0, decodeAndVerify.length);
+            return true;
+        }
+        int decodeCiphertextInPlace = ((TlsInPlaceCipher) tlsCipher).decodeCiphertextInPlace(this.readSeqNo.nextValue((short) 10), readUint8, bArr, 5, readHeader);
+        checkLength(decodeCiphertextInPlace, this.plaintextLimit, (short) 30);
+        if (decodeCiphertextInPlace >= 1 || readUint8 == (short) 23) {
+            this.handler.processRecord(readUint8, bArr, 5, decodeCiphertextInPlace);
+            return true;
+        }
+        throw new TlsFatalAlert((short) 47);
+    }
+
     void receivedReadCipherSpec() throws IOException {
         if (this.pendingCompression == null || this.pendingCipher == null) {
             throw new TlsFatalAlert((short) 40);
@@ -246,6 +300,14 @@ class RecordStream {
         this.restrictReadVersion = z;
     }
 
+    void setReuseBuffers(boolean z) {
+        this.reuseBuffers = z;
+        if (!z) {
+            this.readBuffer = null;
+            this.writeBuffer = null;
+        }
+    }
+
     void setWriteVersion(ProtocolVersion protocolVersion) {
         this.writeVersion = protocolVersion;
     }
@@ -255,6 +317,10 @@ class RecordStream {
             checkType(s, (short) 80);
             checkLength(i2, this.plaintextLimit, (short) 80);
             if (i2 >= 1 || s == (short) 23) {
+                if (this.reuseBuffers && (this.writeCipher instanceof TlsInPlaceCipher) && (this.writeCompression instanceof TlsNullCompression)) {
+                    writeRecordInPlace((TlsInPlaceCipher) this.writeCipher, s, bArr, i, i2);
+                    return;
+                }
                 TlsCipher tlsCipher;
                 short s2;
                 byte[] bArr2;
@@ -292,4 +358,21 @@ class RecordStream {
             throw new TlsFatalAlert((short) 80);
         }
     }
+
+    private void writeRecordInPlace(TlsInPlaceCipher tlsInPlaceCipher, short s, byte[] bArr, int i, int i2) throws IOException {
+        long nextValue = this.writeSeqNo.nextValue((short) 80);
+        int ciphertextLength = tlsInPlaceCipher.getCiphertextLength(i2) + 5;
+        byte[] bArr2 = this.writeBuffer;
+        if (bArr2 == null || bArr2.length < ciphertextLength) {
+            bArr2 = new byte[Math.max(ciphertextLength, this.ciphertextLimit + 5)];
+            this.writeBuffer = bArr2;
+        }
+        int encodePlaintext = tlsInPlaceCipher.encodePlaintext(nextValue, s, bArr, i, i2, bArr2, 5);
+        checkLength(encodePlaintext, this.ciphertextLimit, (short) 80);
+        TlsUtils.writeUint8(s, bArr2, 0);
+        TlsUtils.writeVersion(this.writeVersion, bArr2, 1);
+        TlsUtils.writeUint16(encodePlaintext, bArr2, 3);
+        this.output.write(bArr2, 0, encodePlaintext + 5);
+        this.output.flush();
+    }
 }
@@ -6,7 +6,7 @@ import org.bouncycastle.crypto.params.AEADParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.util.Arrays;
 
-public class TlsAEADCipher implements TlsCipher {
+public class TlsAEADCipher implements TlsInPlaceCipher {
     static final int NONCE_DRAFT_CHACHA20_POLY1305 = 2;
     public static final int NONCE_RFC5288 = 1;
     protected TlsContext context;
@@ -82,74 +82,84 @@ public class TlsAEADCipher implements TlsCipher {
     }
 
     public byte[] decodeCiphertext(long j, short s, byte[] bArr, int i, int i2) throws IOException {
-        long j2 = j;
-        int i3 = i;
-        int i4 = i2;
-        if (getPlaintextLimit(i4) >= 0) {
-            byte[] bArr2;
-            Object obj = new byte[(this.decryptImplicitNonce.length + this.record_iv_length)];
-            switch (this.nonceMode) {
-                case 1:
-                    System.arraycopy(this.decryptImplicitNonce, 0, obj, 0, this.decryptImplicitNonce.length);
-                    bArr2 = bArr;
-                    System.arraycopy(bArr2, i3, obj, obj.length - this.record_iv_length, this.record_iv_length);
-                    break;
-                case 2:
-                    TlsUtils.writeUint64(j2, obj, obj.length - 8);
-                    for (int i5 = 0; i5 < this.decryptImplicitNonce.length; i5++) {
-                        obj[i5] = (byte) (obj[i5] ^ this.decryptImplicitNonce[i5]);
-                    }
-                    bArr2 = bArr;
-                    break;
-                default:
-                    throw new TlsFatalAlert((short) 80);
-            }
-            int i6 = i3 + this.record_iv_length;
-            int i7 = i4 - this.record_iv_length;
-            i3 = this.decryptCipher.getOutputSize(i7);
-            byte[] bArr3 = new byte[i3];
-            try {
-                this.decryptCipher.init(false, new AEADParameters(null, 8 * this.macSize, obj, getAdditionalData(j2, s, i3)));
-                int processBytes = 0 + this.decryptCipher.processBytes(bArr2, i6, i7, bArr3, 0);
-                if (processBytes + this.decryptCipher.doFinal(bArr3, processBytes) == bArr3.length) {
-                    return bArr3;
+        if (getPlaintextLimit(i2) >= 0) {
+            byte[] bArr2 = new byte[this.decryptCipher.getOutputSize(i2 - this.record_iv_length)];
+            decodeCiphertext(j, s, bArr, i, i2, bArr2, 0);
+            return bArr2;
+        }
+        throw new TlsFatalAlert((short) 50);
+    }
+
+    public int decodeCiphertextInPlace(long j, short s, byte[] bArr, int i, int i2) throws IOException {
+        if (getPlaintextLimit(i2) >= 0) {
+            return decodeCiphertext(j, s, bArr, i, i2, bArr, i);
+        }
+        throw new TlsFatalAlert((short) 50);
+    }
+
+    private int decodeCiphertext(long j, short s, byte[] bArr, int i, int i2, byte[] bArr2, int i3) throws IOException {
+        byte[] bArr3 = new byte[(this.decryptImplicitNonce.length + this.record_iv_length)];
+        switch (this.nonceMode) {
+            case 1:
+                System.arraycopy(this.decryptImplicitNonce, 0, bArr3, 0, this.decryptImplicitNonce.length);
+                System.arraycopy(bArr, i, bArr3, bArr3.length - this.record_iv_length, this.record_iv_length);
+                break;
+            case 2:
+                TlsUtils.writeUint64(j, bArr3, bArr3.length - 8);
+                for (int i4 = 0; i4 < this.decryptImplicitNonce.length; i4++) {
+                    bArr3[i4] = (byte) (bArr3[i4] ^ this.decryptImplicitNonce[i4]);
                 }
+                break;
+            default:
                 throw new TlsFatalAlert((short) 80);
-            } catch (Throwable e) {
-                throw new TlsFatalAlert((short) 20, e);
+        }
+        int i5 = i + this.record_iv_length;
+        int i6 = i2 - this.record_iv_length;
+        int outputSize = this.decryptCipher.getOutputSize(i6);
+        try {
+            this.decryptCipher.init(false, new AEADParameters(null, 8 * this.macSize, bArr3, getAdditionalData(j, s, outputSize)));
+            int processBytes = this.decryptCipher.processBytes(bArr, i5, i6, bArr2, i3);
+            if (processBytes + this.decryptCipher.doFinal(bArr2, i3 + processBytes) == outputSize) {
+                return outputSize;
             }
+            throw new TlsFatalAlert((short) 80);
+        } catch (Throwable e) {
+            throw new TlsFatalAlert((short) 20, e);
         }
-        throw new TlsFatalAlert((short) 50);
     }
 
     public byte[] encodePlaintext(long j, short s, byte[] bArr, int i, int i2) throws IOException {
-        long j2 = j;
-        int i3 = i2;
-        Object obj = new byte[(this.encryptImplicitNonce.length + this.record_iv_length)];
+        byte[] bArr2 = new byte[(this.record_iv_length + this.encryptCipher.getOutputSize(i2))];
+        encodePlaintext(j, s, bArr, i, i2, bArr2, 0);
+        return bArr2;
+    }
+
+    public int encodePlaintext(long j, short s, byte[] bArr, int i, int i2, byte[] bArr2, int i3) throws IOException {
+        byte[] bArr3 = new byte[(this.encryptImplicitNonce.length + this.record_iv_length)];
         switch (this.nonceMode) {
             case 1:
-                System.arraycopy(this.encryptImplicitNonce, 0, obj, 0, this.encryptImplicitNonce.length);
-                TlsUtils.writeUint64(j2, obj, this.encryptImplicitNonce.length);
+                System.arraycopy(this.encryptImplicitNonce, 0, bArr3, 0, this.encryptImplicitNonce.length);
+                TlsUtils.writeUint64(j, bArr3, this.encryptImplicitNonce.length);
                 break;
             case 2:
-                TlsUtils.writeUint64(j2, obj, obj.length - 8);
+                TlsUtils.writeUint64(j, bArr3, bArr3.length - 8);
                 for (int i4 = 0; i4 < this.encryptImplicitNonce.length; i4++) {
-                    obj[i4] = (byte) (obj[i4] ^ this.encryptImplicitNonce[i4]);
+                    bArr3[i4] = (byte) (bArr3[i4] ^ this.encryptImplicitNonce[i4]);
                 }
                 break;
             default:
                 throw new TlsFatalAlert((short) 80);
         }
-        Object obj2 = new byte[(this.record_iv_length + this.encryptCipher.getOutputSize(i3))];
+        int outputSize = this.encryptCipher.getOutputSize(i2);
         if (this.record_iv_length != 0) {
-            System.arraycopy(obj, obj.length - this.record_iv_length, obj2, 0, this.record_iv_length);
+            System.arraycopy(bArr3, bArr3.length - this.record_iv_length, bArr2, i3, this.record_iv_length);
         }
-        int i5 = this.record_iv_length;
+        int i5 = i3 + this.record_iv_length;
         try {
-            this.encryptCipher.init(true, new AEADParameters(null, 8 * this.macSize, obj, getAdditionalData(j2, s, i3)));
-            i5 += this.encryptCipher.processBytes(bArr, i, i3, obj2, i5);
-            if (i5 + this.encryptCipher.doFinal(obj2, i5) == obj2.length) {
-                return obj2;
+            this.encryptCipher.init(true, new AEADParameters(null, 8 * this.macSize, bArr3, getAdditionalData(j, s, i2)));
+            int processBytes = this.encryptCipher.processBytes(bArr, i, i2, bArr2, i5);
+            if (processBytes + this.encryptCipher.doFinal(bArr2, i5 + processBytes) == outputSize) {
+                return this.record_iv_length + outputSize;
             }
             throw new TlsFatalAlert((short) 80);
         } catch (Throwable e) {
@@ -166,6 +176,10 @@ public class TlsAEADCipher implements TlsCipher {
         return bArr;
     }
 
+    public int getCiphertextLength(int i) {
+        return (this.record_iv_length + i) + this.macSize;
+    }
+
     public int getPlaintextLimit(int i) {
         return (i - this.macSize) - this.record_iv_length;
     }
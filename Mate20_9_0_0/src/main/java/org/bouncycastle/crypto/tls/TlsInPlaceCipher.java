@@ -0,0 +1,11 @@
+package org.bouncycastle.crypto.tls;
+
+import java.io.IOException;
+
+public interface TlsInPlaceCipher extends TlsCipher {
+    int decodeCiphertextInPlace(long j, short s, byte[] bArr, int i, int i2) throws IOException;
+
+    int encodePlaintext(long j, short s, byte[] bArr, int i, int i2, byte[] bArr2, int i3) throws IOException;
+
+    int getCiphertextLength(int i);
+}
@@ -741,6 +741,14 @@ public abstract class TlsProtocol {
         return this.closed;
     }
 
+    public boolean isReuseRecordBuffers() {
+        return this.recordStream.isReuseBuffers();
+    }
+
+    public void setReuseRecordBuffers(boolean z) {
+        this.recordStream.setReuseBuffers(z);
+    }
+
     public void offerInput(byte[] bArr) throws IOException {
         if (this.blocking) {
             throw new IllegalStateException("Cannot use offerInput() in blocking mode! Use getInputStream() instead.");
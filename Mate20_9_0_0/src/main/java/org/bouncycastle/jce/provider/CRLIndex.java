@@ -0,0 +1,232 @@
+package org.bouncycastle.jce.provider;
+
+import java.math.BigInteger;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CertificateList;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.TBSCertList.CRLEntry;
+import org.bouncycastle.util.Arrays;
+
+class CRLIndex {
+    private static final int MAX_SHARED_BYTES = 1048576;
+    private static final LinkedHashMap<Key, CRLIndex> SHARED = new LinkedHashMap(16, 0.75f, true);
+    private static long sharedBytes;
+    private final long expiry;
+    private final X500Name[] issuers;
+    private final int[] offsets;
+    private final int[] order;
+    private final byte[] serials;
+    private final int size;
+
+    private static final class Key {
+        private final int hashCode;
+        private final X500Name issuer;
+        private final int revokedCount;
+        private final byte[] signature;
+
+        Key(CertificateList certificateList, int i) {
+            this.issuer = certificateList.getIssuer();
+            this.signature = certificateList.getSignature().getBytes();
+            this.revokedCount = i;
+            this.hashCode = (Arrays.hashCode(this.signature) * 31) + i;
+        }
+
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return this.revokedCount == key.revokedCount && Arrays.areEqual(this.signature, key.signature) && this.issuer.equals(key.issuer);
+        }
+
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private CRLIndex(CertificateList certificateList, boolean z, int i) {
+        this.expiry = certificateList.getNextUpdate() != null ? certificateList.getNextUpdate().getDate().getTime() : -1;
+        this.issuers = z ? new X500Name[i] : null;
+        this.offsets = new int[(i + 1)];
+        this.order = new int[i];
+        byte[][] bArr = new byte[i][];
+        Enumeration revokedCertificateEnumeration = certificateList.getRevokedCertificateEnumeration();
+        X500Name x500Name = null;
+        int i2 = 0;
+        for (int i3 = 0; i3 < i; i3++) {
+            CRLEntry cRLEntry = (CRLEntry) revokedCertificateEnumeration.nextElement();
+            bArr[i3] = cRLEntry.getUserCertificate().getValue().toByteArray();
+            i2 += bArr[i3].length;
+            this.order[i3] = i3;
+            if (z) {
+                if (cRLEntry.hasExtensions()) {
+                    Extension extension = cRLEntry.getExtensions().getExtension(Extension.certificateIssuer);
+                    if (extension != null) {
+                        x500Name = X500Name.getInstance(GeneralNames.getInstance(extension.getParsedValue()).getNames()[0].getName());
+                    }
+                }
+                this.issuers[i3] = x500Name;
+            }
+        }
+        this.serials = new byte[i2];
+        int i4 = 0;
+        for (int i5 = 0; i5 < i; i5++) {
+            this.offsets[i5] = i4;
+            System.arraycopy(bArr[i5], 0, this.serials, i4, bArr[i5].length);
+            i4 += bArr[i5].length;
+        }
+        this.offsets[i] = i4;
+        this.size = i;
+        sort(0, i, new int[((i + 1) / 2)]);
+    }
+
+    private static int compare(byte[] bArr, int i, int i2, byte[] bArr2, int i3, int i4) {
+        boolean z = bArr[i] < (byte) 0;
+        if (z != (bArr2[i3] < (byte) 0)) {
+            return z ? -1 : 1;
+        }
+        if (i2 != i4) {
+            return (i2 < i4) != z ? -1 : 1;
+        }
+        for (int i5 = 0; i5 < i2; i5++) {
+            int i6 = bArr[i + i5] & 255;
+            int i7 = bArr2[i3 + i5] & 255;
+            if (i6 != i7) {
+                return i6 < i7 ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    private int compare(int i, int i2) {
+        return compare(this.serials, this.offsets[i], this.offsets[i + 1] - this.offsets[i], this.serials, this.offsets[i2], this.offsets[i2 + 1] - this.offsets[i2]);
+    }
+
+    static CRLIndex getInstance(CertificateList certificateList, boolean z) {
+        int i = 0;
+        Enumeration revokedCertificateEnumeration = certificateList.getRevokedCertificateEnumeration();
+        while (revokedCertificateEnumeration.hasMoreElements()) {
+            revokedCertificateEnumeration.nextElement();
+            i++;
+        }
+        Key key = new Key(certificateList, i);
+        long currentTimeMillis = System.currentTimeMillis();
+        synchronized (SHARED) {
+            CRLIndex cRLIndex = (CRLIndex) SHARED.get(key);
+            if (cRLIndex != null) {
+                if (!cRLIndex.isExpired(currentTimeMillis) && (cRLIndex.issuers != null) == z) {
+                    return cRLIndex;
+                }
+                SHARED.remove(key);
+                sharedBytes -= cRLIndex.estimatedSize();
+            }
+        }
+        CRLIndex cRLIndex2 = new CRLIndex(certificateList, z, i);
+        long estimatedSize = cRLIndex2.estimatedSize();
+        if (!cRLIndex2.isExpired(currentTimeMillis) && estimatedSize <= CRLIndex.MAX_SHARED_BYTES) {
+            synchronized (SHARED) {
+                CRLIndex cRLIndex3 = (CRLIndex) SHARED.put(key, cRLIndex2);
+                if (cRLIndex3 != null) {
+                    sharedBytes -= cRLIndex3.estimatedSize();
+                }
+                sharedBytes += estimatedSize;
+                Iterator it = SHARED.values().iterator();
+                while (it.hasNext()) {
+                    CRLIndex cRLIndex4 = (CRLIndex) it.next();
+                    if (cRLIndex4 != cRLIndex2 && (sharedBytes > CRLIndex.MAX_SHARED_BYTES || cRLIndex4.isExpired(currentTimeMillis))) {
+                        it.remove();
+                        sharedBytes -= cRLIndex4.estimatedSize();
+                    }
+                }
+            }
+        }
+        return cRLIndex2;
+    }
+
+    private long estimatedSize() {
+        return ((long) (this.serials.length + 128)) + (((long) ((this.offsets.length + this.order.length) + (this.issuers != null ? this.issuers.length : 0))) * 4);
+    }
+
+    private int find(BigInteger bigInteger) {
+        byte[] toByteArray = bigInteger.toByteArray();
+        int i = 0;
+        int i2 = this.size - 1;
+        int i3 = -1;
+        while (i <= i2) {
+            int i4 = (i + i2) >>> 1;
+            int i5 = this.order[i4];
+            int compare = compare(this.serials, this.offsets[i5], this.offsets[i5 + 1] - this.offsets[i5], toByteArray, 0, toByteArray.length);
+            if (compare < 0) {
+                i = i4 + 1;
+            } else {
+                if (compare == 0) {
+                    i3 = i5;
+                }
+                i2 = i4 - 1;
+            }
+        }
+        return i3;
+    }
+
+    private void sort(int i, int i2, int[] iArr) {
+        if (i2 - i >= 2) {
+            int i3 = (i + i2) >>> 1;
+            sort(i, i3, iArr);
+            sort(i3, i2, iArr);
+            if (compare(this.order[i3 - 1], this.order[i3]) > 0) {
+                int i4 = i3 - i;
+                System.arraycopy(this.order, i, iArr, 0, i4);
+                int i5 = 0;
+                int i6 = i3;
+                int i7 = i;
+                while (i5 < i4) {
+                    if (i6 >= i2 || compare(iArr[i5], this.order[i6]) <= 0) {
+                        this.order[i7] = iArr[i5];
+                        i5++;
+                    } else {
+                        this.order[i7] = this.order[i6];
+                        i6++;
+                    }
+                    i7++;
+                }
+            }
+        }
+    }
+
+    X509CRLEntryObject getRevokedCertificate(BigInteger bigInteger, CRLEntry[] cRLEntryArr) {
+        int find = find(bigInteger);
+        if (find < 0) {
+            return null;
+        }
+        X500Name x500Name = null;
+        if (this.issuers != null && find > 0) {
+            x500Name = this.issuers[find - 1];
+        }
+        return new X509CRLEntryObject(cRLEntryArr[find], this.issuers != null, x500Name);
+    }
+
+    X500Name getCertificateIssuer(BigInteger bigInteger, X500Name x500Name) {
+        int find = find(bigInteger);
+        if (find < 0) {
+            return null;
+        }
+        if (this.issuers != null) {
+            X500Name x500Name2 = this.issuers[find];
+            if (x500Name2 != null) {
+                return x500Name2;
+            }
+        }
+        return x500Name;
+    }
+
+    boolean isExpired(long j) {
+        return this.expiry >= 0 && j >= this.expiry;
+    }
+}
@@ -44,8 +44,10 @@ import org.bouncycastle.util.encoders.Hex;
 public class X509CRLObject extends X509CRL {
     private CertificateList c;
     private int hashCodeValue;
+    private volatile CRLIndex index;
     private boolean isHashCodeSet = false;
     private boolean isIndirect;
+    private volatile CRLEntry[] revokedEntries;
     private String sigAlgName;
     private byte[] sigAlgParams;
 
@@ -106,6 +108,16 @@ public class X509CRLObject extends X509CRL {
         }
     }
 
+    private CRLIndex getIndex() {
+        CRLIndex cRLIndex = this.index;
+        if (cRLIndex != null) {
+            return cRLIndex;
+        }
+        cRLIndex = CRLIndex.getInstance(this.c, this.isIndirect);
+        this.index = cRLIndex;
+        return cRLIndex;
+    }
+
     private Set loadCRLEntries() {
         Set hashSet = new HashSet();
         Enumeration revokedCertificateEnumeration = this.c.getRevokedCertificateEnumeration();
@@ -188,21 +200,12 @@ public class X509CRLObject extends X509CRL {
     }
 
     public X509CRLEntry getRevokedCertificate(BigInteger bigInteger) {
-        Enumeration revokedCertificateEnumeration = this.c.getRevokedCertificateEnumeration();
-        X500Name x500Name = null;
-        while (revokedCertificateEnumeration.hasMoreElements()) {
-            CRLEntry cRLEntry = (CRLEntry) revokedCertificateEnumeration.nextElement();
-            if (bigInteger.equals(cRLEntry.getUserCertificate().getValue())) {
-                return new X509CRLEntryObject(cRLEntry, this.isIndirect, x500Name);
-            }
-            if (this.isIndirect && cRLEntry.hasExtensions()) {
-                Extension extension = cRLEntry.getExtensions().getExtension(Extension.certificateIssuer);
-                if (extension != null) {
-                    x500Name = X500Name.getInstance(GeneralNames.getInstance(extension.getParsedValue()).getNames()[0].getName());
-                }
-            }
+        CRLEntry[] cRLEntryArr = this.revokedEntries;
+        if (cRLEntryArr == null) {
+            cRLEntryArr = this.c.getRevokedCertificates();
+            this.revokedEntries = cRLEntryArr;
         }
-        return null;
+        return getIndex().getRevokedCertificate(bigInteger, cRLEntryArr);
     }
 
     public Set getRevokedCertificates() {
@@ -267,35 +270,21 @@ public class X509CRLObject extends X509CRL {
 
     public boolean isRevoked(Certificate certificate) {
         if (certificate.getType().equals("X.509")) {
-            Enumeration revokedCertificateEnumeration = this.c.getRevokedCertificateEnumeration();
-            X500Name issuer = this.c.getIssuer();
-            if (revokedCertificateEnumeration != null) {
-                X509Certificate x509Certificate = (X509Certificate) certificate;
-                BigInteger serialNumber = x509Certificate.getSerialNumber();
-                while (revokedCertificateEnumeration.hasMoreElements()) {
-                    CRLEntry instance = CRLEntry.getInstance(revokedCertificateEnumeration.nextElement());
-                    if (this.isIndirect && instance.hasExtensions()) {
-                        Extension extension = instance.getExtensions().getExtension(Extension.certificateIssuer);
-                        if (extension != null) {
-                            issuer = X500Name.getInstance(GeneralNames.getInstance(extension.getParsedValue()).getNames()[0].getName());
-                        }
-                    }
-                    if (instance.getUserCertificate().getValue().equals(serialNumber)) {
-                        Object instance2;
-                        if (certificate instanceof X509Certificate) {
-                            instance2 = X500Name.getInstance(x509Certificate.getIssuerX500Principal().getEncoded());
-                        } else {
-                            try {
-                                instance2 = org.bouncycastle.asn1.x509.Certificate.getInstance(certificate.getEncoded()).getIssuer();
-                            } catch (CertificateEncodingException e) {
-                                throw new RuntimeException("Cannot process certificate");
-                            }
-                        }
-                        return issuer.equals(instance2);
-                    }
+            X500Name certificateIssuer = getIndex().getCertificateIssuer(((X509Certificate) certificate).getSerialNumber(), this.c.getIssuer());
+            if (certificateIssuer == null) {
+                return false;
+            }
+            Object instance;
+            if (certificate instanceof X509Certificate) {
+                instance = X500Name.getInstance(((X509Certificate) certificate).getIssuerX500Principal().getEncoded());
+            } else {
+                try {
+                    instance = org.bouncycastle.asn1.x509.Certificate.getInstance(certificate.getEncoded()).getIssuer();
+                } catch (CertificateEncodingException e) {
+                    throw new RuntimeException("Cannot process certificate");
                 }
             }
-            return false;
+            return certificateIssuer.equals(instance);
         }
         throw new RuntimeException("X.509 CRL used with non X.509 Cert");
     }
@@ -18,9 +18,19 @@ public class FixedPointUtil {
         ECCurve curve = eCPoint.getCurve();
         int i = getCombSize(curve) > 257 ? 6 : 5;
         int i2 = 1 << i;
-        Object fixedPointPreCompInfo = getFixedPointPreCompInfo(curve.getPreCompInfo(eCPoint, PRECOMP_NAME));
+        FixedPointPreCompInfo fixedPointPreCompInfo = getFixedPointPreCompInfo(curve.getPreCompInfo(eCPoint, PRECOMP_NAME));
         ECPoint[] preComp = fixedPointPreCompInfo.getPreComp();
         if (preComp == null || preComp.length < i2) {
+            PreCompInfo lookup = PreCompRegistry.lookup(eCPoint, PRECOMP_NAME);
+            if (lookup instanceof FixedPointPreCompInfo) {
+                FixedPointPreCompInfo fixedPointPreCompInfo2 = (FixedPointPreCompInfo) lookup;
+                ECPoint[] preComp2 = fixedPointPreCompInfo2.getPreComp();
+                if (preComp2 != null && preComp2.length >= i2) {
+                    curve.setPreCompInfo(eCPoint, PRECOMP_NAME, fixedPointPreCompInfo2);
+                    return fixedPointPreCompInfo2;
+                }
+            }
+            fixedPointPreCompInfo = new FixedPointPreCompInfo();
             int i3;
             int combSize = ((getCombSize(curve) + i) - 1) / i;
             ECPoint[] eCPointArr = new ECPoint[(i + 1)];
@@ -45,6 +55,7 @@ public class FixedPointUtil {
             fixedPointPreCompInfo.setPreComp(preComp);
             fixedPointPreCompInfo.setWidth(i);
             curve.setPreCompInfo(eCPoint, PRECOMP_NAME, fixedPointPreCompInfo);
+            PreCompRegistry.register(eCPoint, PRECOMP_NAME, fixedPointPreCompInfo);
         }
         return fixedPointPreCompInfo;
     }
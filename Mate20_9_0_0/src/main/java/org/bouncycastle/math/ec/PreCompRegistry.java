@@ -0,0 +1,85 @@
+package org.bouncycastle.math.ec;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bouncycastle.util.Arrays;
+
+class PreCompRegistry {
+    private static final ConcurrentHashMap<Key, Entry> REGISTRY = new ConcurrentHashMap();
+    private static final ReferenceQueue<PreCompInfo> STALE = new ReferenceQueue();
+
+    private static final class Entry extends WeakReference<PreCompInfo> {
+        final Key key;
+
+        Entry(Key key, PreCompInfo preCompInfo) {
+            super(preCompInfo, PreCompRegistry.STALE);
+            this.key = key;
+        }
+    }
+
+    private static final class Key {
+        private final int coord;
+        private final ECCurve curve;
+        private final byte[] encoding;
+        private final int hash;
+        private final String name;
+
+        Key(ECPoint eCPoint, String str) {
+            this.curve = eCPoint.getCurve();
+            this.coord = this.curve.getCoordinateSystem();
+            this.encoding = eCPoint.getEncoded(false);
+            this.name = str;
+            this.hash = (((((this.curve.hashCode() * 31) + this.coord) * 31) + str.hashCode()) * 31) + Arrays.hashCode(this.encoding);
+        }
+
+        public boolean equals(Object obj) {
+            boolean z = true;
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            if (!(this.hash == key.hash && this.coord == key.coord && this.name.equals(key.name) && this.curve.getClass() == key.curve.getClass() && this.curve.equals(key.curve) && Arrays.areEqual(this.encoding, key.encoding))) {
+                z = false;
+            }
+            return z;
+        }
+
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    PreCompRegistry() {
+    }
+
+    static PreCompInfo lookup(ECPoint eCPoint, String str) {
+        if (eCPoint.isInfinity()) {
+            return null;
+        }
+        Entry entry = (Entry) REGISTRY.get(new Key(eCPoint, str));
+        return entry == null ? null : (PreCompInfo) entry.get();
+    }
+
+    static void register(ECPoint eCPoint, String str, PreCompInfo preCompInfo) {
+        if (!eCPoint.isInfinity()) {
+            purge();
+            Key key = new Key(eCPoint, str);
+            REGISTRY.put(key, new Entry(key, preCompInfo));
+        }
+    }
+
+    private static void purge() {
+        while (true) {
+            Entry entry = (Entry) STALE.poll();
+            if (entry != null) {
+                REGISTRY.remove(entry.key, entry);
+            } else {
+                return;
+            }
+        }
+    }
+}
@@ -262,7 +262,7 @@ public abstract class WNafUtil {
     public static WNafPreCompInfo precompute(ECPoint eCPoint, int i, boolean z) {
         int i2;
         ECCurve curve = eCPoint.getCurve();
-        Object wNafPreCompInfo = getWNafPreCompInfo(curve.getPreCompInfo(eCPoint, PRECOMP_NAME));
+        WNafPreCompInfo wNafPreCompInfo = getWNafPreCompInfo(curve.getPreCompInfo(eCPoint, PRECOMP_NAME));
         int i3 = 0;
         i = 1 << Math.max(0, i - 2);
         ECPoint[] preComp = wNafPreCompInfo.getPreComp();
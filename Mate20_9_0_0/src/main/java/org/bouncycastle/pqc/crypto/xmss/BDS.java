@@ -7,8 +7,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public final class BDS implements Serializable {
+    private static final int LEAVES_PER_TASK = 16;
     private static final long serialVersionUID = 1;
     private List<XMSSNode> authenticationPath;
     private int index;
@@ -71,6 +76,11 @@ public final class BDS implements Serializable {
         initialize(bArr, bArr2, oTSHashAddress);
     }
 
+    BDS(XMSSParameters xMSSParameters, byte[] bArr, byte[] bArr2, OTSHashAddress oTSHashAddress, ForkJoinPool forkJoinPool) {
+        this(xMSSParameters.getWOTSPlus(), xMSSParameters.getHeight(), xMSSParameters.getK());
+        initialize(bArr, bArr2, oTSHashAddress, forkJoinPool);
+    }
+
     BDS(XMSSParameters xMSSParameters, byte[] bArr, byte[] bArr2, OTSHashAddress oTSHashAddress, int i) {
         this(xMSSParameters.getWOTSPlus(), xMSSParameters.getHeight(), xMSSParameters.getK());
         initialize(bArr, bArr2, oTSHashAddress);
@@ -94,15 +104,89 @@ public final class BDS implements Serializable {
         return bDSTreeHash;
     }
 
+    private static XMSSNode computeLeaf(WOTSPlus wOTSPlus, byte[] bArr, byte[] bArr2, OTSHashAddress oTSHashAddress, int i) {
+        OTSHashAddress oTSHashAddress2 = (OTSHashAddress) ((OTSHashAddress.Builder) ((OTSHashAddress.Builder) ((OTSHashAddress.Builder) new OTSHashAddress.Builder().withLayerAddress(oTSHashAddress.getLayerAddress())).withTreeAddress(oTSHashAddress.getTreeAddress())).withOTSAddress(i).withChainAddress(oTSHashAddress.getChainAddress()).withHashAddress(oTSHashAddress.getHashAddress()).withKeyAndMask(oTSHashAddress.getKeyAndMask())).build();
+        wOTSPlus.importKeys(wOTSPlus.getWOTSPlusSecretKey(bArr2, oTSHashAddress2), bArr);
+        return XMSSNodeUtil.lTree(wOTSPlus, wOTSPlus.getPublicKey(oTSHashAddress2), (LTreeAddress) ((LTreeAddress.Builder) ((LTreeAddress.Builder) new LTreeAddress.Builder().withLayerAddress(oTSHashAddress.getLayerAddress())).withTreeAddress(oTSHashAddress.getTreeAddress())).withLTreeAddress(i).build());
+    }
+
+    private WOTSPlus[] copyWOTSPlus(int i) {
+        WOTSPlus[] wOTSPlusArr = new WOTSPlus[i];
+        for (int i2 = 0; i2 < i; i2++) {
+            wOTSPlusArr[i2] = this.wotsPlus.copy();
+            if (wOTSPlusArr[i2] == null) {
+                return null;
+            }
+        }
+        return wOTSPlusArr;
+    }
+
+    private void computeLeaves(ForkJoinPool forkJoinPool, WOTSPlus[] wOTSPlusArr, final XMSSNode[] xMSSNodeArr, final int i, final byte[] bArr, final byte[] bArr2, final OTSHashAddress oTSHashAddress) {
+        int min = Math.min(xMSSNodeArr.length, (1 << this.treeHeight) - i);
+        int length = ((min + wOTSPlusArr.length) - 1) / wOTSPlusArr.length;
+        List<Callable<Object>> arrayList = new ArrayList();
+        int i2 = 0;
+        int i3 = 0;
+        while (i3 < min) {
+            final WOTSPlus wOTSPlus = wOTSPlusArr[i2];
+            final int i4 = i3;
+            final int min2 = Math.min(min, i3 + length);
+            arrayList.add(new Callable<Object>() {
+                public Object call() {
+                    for (int i5 = i4; i5 < min2; i5++) {
+                        xMSSNodeArr[i5] = BDS.computeLeaf(wOTSPlus, bArr, bArr2, oTSHashAddress, i + i5);
+                    }
+                    return null;
+                }
+            });
+            i2++;
+            i3 = min2;
+        }
+        try {
+            for (Future<Object> future : forkJoinPool.invokeAll(arrayList)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("tree construction interrupted");
+        } catch (ExecutionException e2) {
+            Throwable cause = e2.getCause();
+            if (cause instanceof RuntimeException) {
+                throw ((RuntimeException) cause);
+            } else if (cause instanceof Error) {
+                throw ((Error) cause);
+            } else {
+                throw new IllegalStateException("tree construction failed: " + cause);
+            }
+        }
+    }
+
     private void initialize(byte[] bArr, byte[] bArr2, OTSHashAddress oTSHashAddress) {
+        initialize(bArr, bArr2, oTSHashAddress, null);
+    }
+
+    private void initialize(byte[] bArr, byte[] bArr2, OTSHashAddress oTSHashAddress, ForkJoinPool forkJoinPool) {
         if (oTSHashAddress != null) {
+            WOTSPlus[] copyWOTSPlus = null;
+            XMSSNode[] xMSSNodeArr = null;
+            if (forkJoinPool != null) {
+                int min = Math.min(1 << this.treeHeight, forkJoinPool.getParallelism());
+                copyWOTSPlus = copyWOTSPlus(min);
+                if (copyWOTSPlus != null) {
+                    xMSSNodeArr = new XMSSNode[Math.min(1 << this.treeHeight, min * LEAVES_PER_TASK)];
+                }
+            }
+            OTSHashAddress oTSHashAddress2 = oTSHashAddress;
             LTreeAddress lTreeAddress = (LTreeAddress) ((Builder) ((Builder) new Builder().withLayerAddress(oTSHashAddress.getLayerAddress())).withTreeAddress(oTSHashAddress.getTreeAddress())).build();
             HashTreeAddress hashTreeAddress = (HashTreeAddress) ((Builder) ((Builder) new Builder().withLayerAddress(oTSHashAddress.getLayerAddress())).withTreeAddress(oTSHashAddress.getTreeAddress())).build();
             for (int i = 0; i < (1 << this.treeHeight); i++) {
                 oTSHashAddress = (OTSHashAddress) ((Builder) ((Builder) ((Builder) new Builder().withLayerAddress(oTSHashAddress.getLayerAddress())).withTreeAddress(oTSHashAddress.getTreeAddress())).withOTSAddress(i).withChainAddress(oTSHashAddress.getChainAddress()).withHashAddress(oTSHashAddress.getHashAddress()).withKeyAndMask(oTSHashAddress.getKeyAndMask())).build();
                 this.wotsPlus.importKeys(this.wotsPlus.getWOTSPlusSecretKey(bArr2, oTSHashAddress), bArr);
                 lTreeAddress = (LTreeAddress) ((Builder) ((Builder) ((Builder) new Builder().withLayerAddress(lTreeAddress.getLayerAddress())).withTreeAddress(lTreeAddress.getTreeAddress())).withLTreeAddress(i).withTreeHeight(lTreeAddress.getTreeHeight()).withTreeIndex(lTreeAddress.getTreeIndex()).withKeyAndMask(lTreeAddress.getKeyAndMask())).build();
-                XMSSNode lTree = XMSSNodeUtil.lTree(this.wotsPlus, this.wotsPlus.getPublicKey(oTSHashAddress), lTreeAddress);
+                if (xMSSNodeArr != null && i % xMSSNodeArr.length == 0) {
+                    computeLeaves(forkJoinPool, copyWOTSPlus, xMSSNodeArr, i, bArr, bArr2, oTSHashAddress2);
+                }
+                XMSSNode lTree = xMSSNodeArr != null ? xMSSNodeArr[i % xMSSNodeArr.length] : XMSSNodeUtil.lTree(this.wotsPlus, this.wotsPlus.getPublicKey(oTSHashAddress), lTreeAddress);
                 hashTreeAddress = (HashTreeAddress) ((Builder) ((Builder) ((Builder) new Builder().withLayerAddress(hashTreeAddress.getLayerAddress())).withTreeAddress(hashTreeAddress.getTreeAddress())).withTreeIndex(i).withKeyAndMask(hashTreeAddress.getKeyAndMask())).build();
                 while (!this.stack.isEmpty() && ((XMSSNode) this.stack.peek()).getHeight() == lTree.getHeight()) {
                     int floor = (int) Math.floor((double) (i / (1 << lTree.getHeight())));
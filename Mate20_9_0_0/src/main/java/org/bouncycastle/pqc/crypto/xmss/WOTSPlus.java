@@ -2,6 +2,9 @@ package org.bouncycastle.pqc.crypto.xmss;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.SHAKEDigest;
+import org.bouncycastle.util.Memoable;
 
 final class WOTSPlus {
     private final KeyedHashFunctions khf;
@@ -87,6 +90,20 @@ final class WOTSPlus {
         throw new IllegalArgumentException("index out of bounds");
     }
 
+    WOTSPlus copy() {
+        Digest digest = this.params.getDigest();
+        if (digest instanceof Memoable) {
+            digest = (Digest) ((Memoable) digest).copy();
+        } else if (digest instanceof SHAKEDigest) {
+            digest = new SHAKEDigest((SHAKEDigest) digest);
+        } else {
+            return null;
+        }
+        WOTSPlus wOTSPlus = new WOTSPlus(new WOTSPlusParameters(digest));
+        wOTSPlus.importKeys(this.secretKeySeed, this.publicSeed);
+        return wOTSPlus;
+    }
+
     protected KeyedHashFunctions getKhf() {
         return this.khf;
     }
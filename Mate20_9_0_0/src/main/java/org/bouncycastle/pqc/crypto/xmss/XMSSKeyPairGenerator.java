@@ -1,6 +1,7 @@
 package org.bouncycastle.pqc.crypto.xmss;
 
 import java.security.SecureRandom;
+import java.util.concurrent.ForkJoinPool;
 import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
 import org.bouncycastle.crypto.KeyGenerationParameters;
 import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
@@ -8,6 +9,7 @@ import org.bouncycastle.pqc.crypto.xmss.XMSSPrivateKeyParameters.Builder;
 
 public final class XMSSKeyPairGenerator {
     private XMSSParameters params;
+    private ForkJoinPool pool;
     private SecureRandom prng;
 
     private XMSSPrivateKeyParameters generatePrivateKey(XMSSParameters xMSSParameters, SecureRandom secureRandom) {
@@ -18,7 +20,7 @@ public final class XMSSKeyPairGenerator {
         secureRandom.nextBytes(bArr2);
         byte[] bArr3 = new byte[digestSize];
         secureRandom.nextBytes(bArr3);
-        return new Builder(xMSSParameters).withSecretKeySeed(bArr).withSecretKeyPRF(bArr2).withPublicSeed(bArr3).withBDSState(new BDS(xMSSParameters, bArr3, bArr, (OTSHashAddress) new Builder().build())).build();
+        return new Builder(xMSSParameters).withSecretKeySeed(bArr).withSecretKeyPRF(bArr2).withPublicSeed(bArr3).withBDSState(new BDS(xMSSParameters, bArr3, bArr, (OTSHashAddress) new OTSHashAddress.Builder().build(), this.pool)).build();
     }
 
     public AsymmetricCipherKeyPair generateKeyPair() {
@@ -29,8 +31,13 @@ public final class XMSSKeyPairGenerator {
     }
 
     public void init(KeyGenerationParameters keyGenerationParameters) {
+        init(keyGenerationParameters, null);
+    }
+
+    public void init(KeyGenerationParameters keyGenerationParameters, ForkJoinPool forkJoinPool) {
         XMSSKeyGenerationParameters xMSSKeyGenerationParameters = (XMSSKeyGenerationParameters) keyGenerationParameters;
         this.prng = xMSSKeyGenerationParameters.getRandom();
         this.params = xMSSKeyGenerationParameters.getParameters();
+        this.pool = forkJoinPool;
     }
 }
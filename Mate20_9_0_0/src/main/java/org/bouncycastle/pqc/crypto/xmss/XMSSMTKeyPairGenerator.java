@@ -1,6 +1,7 @@
 package org.bouncycastle.pqc.crypto.xmss;
 
 import java.security.SecureRandom;
+import java.util.concurrent.ForkJoinPool;
 import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
 import org.bouncycastle.crypto.KeyGenerationParameters;
 import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
@@ -8,6 +9,7 @@ import org.bouncycastle.pqc.crypto.xmss.XMSSMTPrivateKeyParameters.Builder;
 
 public final class XMSSMTKeyPairGenerator {
     private XMSSMTParameters params;
+    private ForkJoinPool pool;
     private SecureRandom prng;
     private XMSSParameters xmssParams;
 
@@ -26,7 +28,7 @@ public final class XMSSMTKeyPairGenerator {
         XMSSMTPrivateKeyParameters generatePrivateKey = generatePrivateKey(new Builder(this.params).build().getBDSState());
         this.xmssParams.getWOTSPlus().importKeys(new byte[this.params.getDigestSize()], generatePrivateKey.getPublicSeed());
         int layers = this.params.getLayers() - 1;
-        BDS bds = new BDS(this.xmssParams, generatePrivateKey.getPublicSeed(), generatePrivateKey.getSecretKeySeed(), (OTSHashAddress) ((Builder) new Builder().withLayerAddress(layers)).build());
+        BDS bds = new BDS(this.xmssParams, generatePrivateKey.getPublicSeed(), generatePrivateKey.getSecretKeySeed(), (OTSHashAddress) ((OTSHashAddress.Builder) new OTSHashAddress.Builder().withLayerAddress(layers)).build(), this.pool);
         XMSSNode root = bds.getRoot();
         generatePrivateKey.getBDSState().put(layers, bds);
         AsymmetricKeyParameter build = new Builder(this.params).withSecretKeySeed(generatePrivateKey.getSecretKeySeed()).withSecretKeyPRF(generatePrivateKey.getSecretKeyPRF()).withPublicSeed(generatePrivateKey.getPublicSeed()).withRoot(root.getValue()).withBDSState(generatePrivateKey.getBDSState()).build();
@@ -34,9 +36,14 @@ public final class XMSSMTKeyPairGenerator {
     }
 
     public void init(KeyGenerationParameters keyGenerationParameters) {
+        init(keyGenerationParameters, null);
+    }
+
+    public void init(KeyGenerationParameters keyGenerationParameters, ForkJoinPool forkJoinPool) {
         XMSSMTKeyGenerationParameters xMSSMTKeyGenerationParameters = (XMSSMTKeyGenerationParameters) keyGenerationParameters;
         this.prng = xMSSMTKeyGenerationParameters.getRandom();
         this.params = xMSSMTKeyGenerationParameters.getParameters();
         this.xmssParams = this.params.getXMSSParameters();
+        this.pool = forkJoinPool;
     }
 }